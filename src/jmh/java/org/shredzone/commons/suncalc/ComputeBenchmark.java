@@ -0,0 +1,247 @@
+/*
+ * Shredzone Commons - suncalc
+ *
+ * Copyright (C) 2026 Richard "Shred" Körber
+ *   http://commons.shredzone.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ */
+package org.shredzone.commons.suncalc;
+
+import static org.shredzone.commons.suncalc.Locations.*;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.shredzone.commons.suncalc.param.EphemerisProvider;
+
+/**
+ * Benchmarks for the {@code execute()} method of all computations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ComputeBenchmark {
+
+    private static final int SERIES_LENGTH = 1440;
+    private static final int SEQUENCE_LENGTH = 50;
+    private static final int GRID_SIZE = 40;
+
+    /**
+     * Test locations, representing different kinds of latitudes.
+     */
+    public enum Site {
+        POLAR(ALERT, ALERT_TZ),
+        EQUATORIAL(SINGAPORE, SINGAPORE_TZ),
+        MID_LATITUDE(COLOGNE, COLOGNE_TZ);
+
+        private final double[] location;
+        private final ZoneId zone;
+
+        Site(double[] location, ZoneId zone) {
+            this.location = location;
+            this.zone = zone;
+        }
+    }
+
+    @Param
+    public Site site;
+
+    private double[] location;
+    private ZonedDateTime dateTime;
+    private final double[] azimuth = new double[SERIES_LENGTH];
+    private final double[] altitude = new double[SERIES_LENGTH];
+    private final double[] gridRise = new double[GRID_SIZE * GRID_SIZE];
+    private final double[] gridSet = new double[GRID_SIZE * GRID_SIZE];
+    private final double[] gridDayLength = new double[GRID_SIZE * GRID_SIZE];
+    private final ResultCache cache = new ResultCache(1000);
+
+    @Setup
+    public void setup() {
+        location = site.location;
+        dateTime = ZonedDateTime.of(2017, 8, 10, 0, 0, 0, 0, site.zone);
+    }
+
+    @Benchmark
+    public SunTimes sunTimes() {
+        return SunTimes.compute().on(dateTime).at(location).execute();
+    }
+
+    @Benchmark
+    public SunTimes sunTimesOneDay() {
+        return SunTimes.compute().on(dateTime).at(location).oneDay().execute();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(365)
+    public int sunTimesYear() {
+        int count = 0;
+        SunTimes.Parameters param = SunTimes.compute().on(dateTime).at(location).oneDay();
+        for (int day = 0; day < 365; day++) {
+            SunTimes times = param.execute();
+            if (times.getRise() != null) {
+                count++;
+            }
+            param.plusDays(1);
+        }
+        return count;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GRID_SIZE * GRID_SIZE)
+    public double[] sunTimesGrid() {
+        SunTimes.compute().on(dateTime)
+                .executeGrid(location[0] + 0.5, location[1] - 0.5, location[0] - 0.5, location[1] + 0.5,
+                        GRID_SIZE, GRID_SIZE, gridRise, gridSet, gridDayLength);
+        return gridDayLength;
+    }
+
+    @Benchmark
+    public Terminator terminator() {
+        return Terminator.compute().on(dateTime).execute();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GRID_SIZE * GRID_SIZE)
+    public BitSet terminatorMask() {
+        return Terminator.compute().on(dateTime)
+                .executeMask(location[0] + 0.5, location[1] - 0.5, location[0] - 0.5, location[1] + 0.5,
+                        GRID_SIZE, GRID_SIZE);
+    }
+
+    @Benchmark
+    public SunTimes sunTimesCached() {
+        return SunTimes.compute().on(dateTime).at(location).cache(cache).execute();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(365)
+    public long sunEventsYear() {
+        return SunTimes.compute().on(dateTime).at(location)
+                .limit(Duration.ofDays(365L))
+                .executeEvents()
+                .count();
+    }
+
+    @Benchmark
+    public MoonTimes moonTimes() {
+        return MoonTimes.compute().on(dateTime).at(location).execute();
+    }
+
+    @Benchmark
+    public MoonTimes moonTimesOneDay() {
+        return MoonTimes.compute().on(dateTime).at(location).oneDay().execute();
+    }
+
+    @Benchmark
+    public MoonTimes moonTimesChebyshev() {
+        return MoonTimes.compute().on(dateTime).at(location)
+                .ephemeris(EphemerisProvider.chebyshev())
+                .execute();
+    }
+
+    @Benchmark
+    public SunPosition sunPosition() {
+        return SunPosition.compute().on(dateTime).at(location).execute();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SERIES_LENGTH)
+    public double[] sunPositionSeries() {
+        SunPosition.compute().on(dateTime).at(location)
+                .executeSeries(Duration.ofMinutes(1L), SERIES_LENGTH, azimuth, altitude, null, null);
+        return altitude;
+    }
+
+    @Benchmark
+    public MoonPosition moonPosition() {
+        return MoonPosition.compute().on(dateTime).at(location).execute();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SERIES_LENGTH)
+    public double[] moonPositionSeries() {
+        MoonPosition.compute().on(dateTime).at(location)
+                .executeSeries(Duration.ofMinutes(1L), SERIES_LENGTH, azimuth, altitude, null, null, null);
+        return altitude;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SERIES_LENGTH)
+    public double[] subsolarPointSeries() {
+        SubsolarPoint.compute().on(dateTime)
+                .executeSeries(Duration.ofMinutes(1L), SERIES_LENGTH, azimuth, altitude, null);
+        return altitude;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SERIES_LENGTH)
+    public double[] sublunarPointSeries() {
+        SublunarPoint.compute().on(dateTime)
+                .executeSeries(Duration.ofMinutes(1L), SERIES_LENGTH, azimuth, altitude, null);
+        return altitude;
+    }
+
+    @Benchmark
+    public MoonIllumination moonIllumination() {
+        return MoonIllumination.compute().on(dateTime).at(location).execute();
+    }
+
+    @Benchmark
+    public MoonPhase moonPhase() {
+        return MoonPhase.compute().on(dateTime).phase(MoonPhase.Phase.FULL_MOON).execute();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SEQUENCE_LENGTH)
+    public long moonPhaseSequence() {
+        return MoonPhase.compute().on(dateTime)
+                .executeSequence(MoonPhase.Phase.NEW_MOON, MoonPhase.Phase.FIRST_QUARTER,
+                        MoonPhase.Phase.FULL_MOON, MoonPhase.Phase.LAST_QUARTER)
+                .limit(SEQUENCE_LENGTH)
+                .count();
+    }
+
+    @Benchmark
+    public DayAlmanac dayAlmanac() {
+        return DayAlmanac.compute().on(dateTime).at(location).execute();
+    }
+
+    @Benchmark
+    public Object[] dayAlmanacSeparate() {
+        return new Object[] {
+                SunTimes.compute().on(dateTime).at(location).execute(),
+                MoonTimes.compute().on(dateTime).at(location).execute(),
+                MoonIllumination.compute().on(dateTime).at(location).execute(),
+                MoonPhase.compute().on(dateTime)
+                        .executeSequence(MoonPhase.Phase.NEW_MOON, MoonPhase.Phase.FIRST_QUARTER,
+                                MoonPhase.Phase.FULL_MOON, MoonPhase.Phase.LAST_QUARTER)
+                        .findFirst()
+                        .orElse(null)
+        };
+    }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Shredzone Commons - suncalc
+ *
+ * Copyright (C) 2026 Richard "Shred" Körber
+ *   http://commons.shredzone.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ */
+package org.shredzone.commons.suncalc;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for computing positions at many locations for the same instant.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocationsBenchmark {
+
+    @Param({"1000", "100000"})
+    public int count;
+
+    private final ZonedDateTime dateTime = ZonedDateTime.of(2017, 8, 10, 12, 0, 0, 0, ZoneOffset.UTC);
+    private double[] latitude;
+    private double[] longitude;
+    private double[] altitude;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(4711L);
+        latitude = new double[count];
+        longitude = new double[count];
+        altitude = new double[count];
+        for (int ix = 0; ix < count; ix++) {
+            latitude[ix] = rnd.nextDouble() * 180.0 - 90.0;
+            longitude[ix] = rnd.nextDouble() * 360.0 - 180.0;
+        }
+    }
+
+    @Benchmark
+    public double[] sunPositionEach() {
+        SunPosition.Parameters param = SunPosition.compute().on(dateTime);
+        for (int ix = 0; ix < count; ix++) {
+            altitude[ix] = param.at(latitude[ix], longitude[ix]).execute().getAltitude();
+        }
+        return altitude;
+    }
+
+    @Benchmark
+    public double[] sunPositionLocations() {
+        SunPosition.compute().on(dateTime)
+                .executeLocations(latitude, longitude, null, altitude, null, null);
+        return altitude;
+    }
+
+    @Benchmark
+    public double[] moonPositionEach() {
+        MoonPosition.Parameters param = MoonPosition.compute().on(dateTime);
+        for (int ix = 0; ix < count; ix++) {
+            altitude[ix] = param.at(latitude[ix], longitude[ix]).execute().getAltitude();
+        }
+        return altitude;
+    }
+
+    @Benchmark
+    public double[] moonPositionLocations() {
+        MoonPosition.compute().on(dateTime)
+                .executeLocations(latitude, longitude, null, altitude, null, null, null);
+        return altitude;
+    }
+
+}
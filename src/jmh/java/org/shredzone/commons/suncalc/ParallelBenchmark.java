@@ -0,0 +1,87 @@
+/*
+ * Shredzone Commons - suncalc
+ *
+ * Copyright (C) 2026 Richard "Shred" Körber
+ *   http://commons.shredzone.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ */
+package org.shredzone.commons.suncalc;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the scaling of parallel computations at many locations, by the number of
+ * threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelBenchmark {
+
+    private static final int COUNT = 500000;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private final ZonedDateTime dateTime = ZonedDateTime.of(2017, 8, 10, 12, 0, 0, 0, ZoneOffset.UTC);
+    private final double[] latitude = new double[COUNT];
+    private final double[] longitude = new double[COUNT];
+    private final double[] altitude = new double[COUNT];
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setup() {
+        Random rnd = new Random(4711L);
+        for (int ix = 0; ix < COUNT; ix++) {
+            latitude[ix] = rnd.nextDouble() * 180.0 - 90.0;
+            longitude[ix] = rnd.nextDouble() * 360.0 - 180.0;
+        }
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public double[] sunPositionLocations() {
+        SunPosition.compute().on(dateTime)
+                .executeLocations(pool, latitude, longitude, null, altitude, null, null);
+        return altitude;
+    }
+
+    @Benchmark
+    public double[] moonPositionLocations() {
+        MoonPosition.compute().on(dateTime)
+                .executeLocations(pool, latitude, longitude, null, altitude, null, null, null);
+        return altitude;
+    }
+
+}
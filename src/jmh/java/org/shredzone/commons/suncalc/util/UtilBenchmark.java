@@ -0,0 +1,147 @@
+/*
+ * Shredzone Commons - suncalc
+ *
+ * Copyright (C) 2026 Richard "Shred" Körber
+ *   http://commons.shredzone.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ */
+package org.shredzone.commons.suncalc.util;
+
+import static java.lang.Math.cos;
+import static java.lang.Math.toRadians;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Micro benchmarks for the utility classes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtilBenchmark {
+
+    private JulianDate jd;
+    private Matrix matrix;
+    private Vector vector;
+    private double hour;
+    private double phi;
+    private double theta;
+    private double lat;
+    private double lng;
+    private Path ephemerisPath;
+    private EphemerisFile ephemerisFile;
+
+    @Setup
+    public void setup() throws IOException {
+        jd = new JulianDate(ZonedDateTime.of(2017, 8, 10, 0, 0, 0, 0, ZoneId.of("UTC")));
+        matrix = Matrix.rotateX(0.4091);
+        vector = Vector.ofPolar(1.2, 0.3, 384400.0);
+        hour = 13.25;
+        phi = 1.2;
+        theta = 0.3;
+        lat = toRadians(50.938056);
+        lng = toRadians(6.956944);
+        ephemerisPath = Files.createTempFile("suncalc", ".eph");
+        EphemerisFile.write(ephemerisPath, 2017, 2017);
+        ephemerisFile = EphemerisFile.open(ephemerisPath);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(ephemerisPath);
+    }
+
+    @Benchmark
+    public JulianDate julianDateAtHour() {
+        return jd.atHour(hour);
+    }
+
+    @Benchmark
+    public Vector vectorOfPolar() {
+        return Vector.ofPolar(phi, theta, 384400.0);
+    }
+
+    @Benchmark
+    public Matrix matrixMultiplyMatrix() {
+        return matrix.multiply(matrix);
+    }
+
+    @Benchmark
+    public Vector matrixMultiplyVector() {
+        return matrix.multiply(vector);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(24)
+    public double sunPositionHorizontal() {
+        double sum = 0.0;
+        for (int h = 0; h < 24; h++) {
+            Vector pos = Sun.positionHorizontal(jd.atHour(h), lat, lng);
+            sum += pos.getPhi() + pos.getTheta() + pos.getR();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(24)
+    public double moonPositionSeries() {
+        double sum = 0.0;
+        for (int h = 0; h < 24; h++) {
+            sum += Moon.positionEquatorial(jd.atHour(h)).getPhi();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(24)
+    public double moonPositionChebyshev() {
+        double sum = 0.0;
+        for (int h = 0; h < 24; h++) {
+            sum += ChebyshevEphemeris.moonPositionEquatorial(jd.atHour(h)).getPhi();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(24)
+    public double moonPositionEphemerisFile() {
+        double sum = 0.0;
+        for (int h = 0; h < 24; h++) {
+            sum += ephemerisFile.moonPositionEquatorial(jd.atHour(h)).getPhi();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double pegasusCalculate() {
+        return Pegasus.calculate(0.0, 3.0, 1e-9, x -> cos(x) - x * 0.1);
+    }
+
+}
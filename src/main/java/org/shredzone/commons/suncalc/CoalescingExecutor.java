@@ -0,0 +1,142 @@
+/*
+ * Shredzone Commons - suncalc
+ *
+ * Copyright (C) 2026 Richard "Shred" Körber
+ *   http://commons.shredzone.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ */
+package org.shredzone.commons.suncalc;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Executes {@link Query} objects, and coalesces concurrent identical queries.
+ * <p>
+ * If a query is executed while an equal query is still being computed, the
+ * computation is not started again. Instead, the result of the running computation
+ * is shared. This avoids that many threads perform the same computation at the same
+ * time, e.g. when the rise and set times of a popular location are requested by many
+ * clients at once.
+ * <p>
+ * Results are not kept after the computation has completed. Use a
+ * {@link ResultCache} for that.
+ * <p>
+ * This class is threadsafe.
+ *
+ * @since 3.12
+ */
+public class CoalescingExecutor {
+
+    private final ConcurrentMap<Query<?>, CompletableFuture<?>> running = new ConcurrentHashMap<>();
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * Executes the {@link Query} in the current thread, and returns its result. If an
+     * equal query is already running, its result is awaited and returned instead.
+     *
+     * @param query
+     *            {@link Query} to execute
+     * @return Result of the query
+     */
+    public <T> T execute(Query<T> query) {
+        try {
+            return submit(query, Runnable::run).join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Executes the {@link Query} asynchronously. If an equal query is already running,
+     * the returned future completes with the result of that query instead.
+     *
+     * @param query
+     *            {@link Query} to execute
+     * @param executor
+     *            {@link Executor} that executes the query
+     * @return {@link CompletableFuture} of the result
+     */
+    public <T> CompletableFuture<T> executeAsync(Query<T> query, Executor executor) {
+        Objects.requireNonNull(executor, "executor");
+        // Dependent future, so a caller cannot cancel the shared computation
+        return submit(query, executor).thenApply(Function.identity());
+    }
+
+    /**
+     * Returns the number of queries that have actually been computed.
+     */
+    public long getExecutions() {
+        return executions.get();
+    }
+
+    /**
+     * Returns the number of queries that shared the result of a running computation.
+     * This is the number of computations that have been saved.
+     */
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    /**
+     * Returns the number of computations that are currently running.
+     */
+    public int getRunning() {
+        return running.size();
+    }
+
+    /**
+     * Returns the future of a running equal query, or starts a new computation.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> CompletableFuture<T> submit(Query<T> query, Executor executor) {
+        Objects.requireNonNull(query, "query");
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        CompletableFuture<?> existing = running.putIfAbsent(query, future);
+        if (existing != null) {
+            coalesced.incrementAndGet();
+            return (CompletableFuture<T>) existing;
+        }
+
+        executions.incrementAndGet();
+        try {
+            executor.execute(() -> {
+                try {
+                    T result = query.execute();
+                    running.remove(query, future);
+                    future.complete(result);
+                } catch (RuntimeException | Error ex) {
+                    running.remove(query, future);
+                    future.completeExceptionally(ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            running.remove(query, future);
+            future.completeExceptionally(ex);
+        }
+        return future;
+    }
+
+}
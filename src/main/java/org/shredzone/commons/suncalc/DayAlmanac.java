@@ -0,0 +1,312 @@
+/*
+ * Shredzone Commons - suncalc
+ *
+ * Copyright (C) 2026 Richard "Shred" Körber
+ *   http://commons.shredzone.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ */
+package org.shredzone.commons.suncalc;
+
+import static org.shredzone.commons.suncalc.util.ExtendedMath.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import org.shredzone.commons.suncalc.MoonPhase.Phase;
+import org.shredzone.commons.suncalc.param.Builder;
+import org.shredzone.commons.suncalc.param.EphemerisParameter;
+import org.shredzone.commons.suncalc.param.GenericParameter;
+import org.shredzone.commons.suncalc.param.LocationParameter;
+import org.shredzone.commons.suncalc.param.TimeParameter;
+import org.shredzone.commons.suncalc.param.WindowParameter;
+import org.shredzone.commons.suncalc.util.BaseBuilder;
+import org.shredzone.commons.suncalc.util.Ephemeris;
+import org.shredzone.commons.suncalc.util.JulianDate;
+import org.shredzone.commons.suncalc.util.Matrix;
+import org.shredzone.commons.suncalc.util.Vector;
+
+/**
+ * Calculates a summary of the sun and the moon at a location: the {@link SunTimes},
+ * the {@link MoonTimes}, the {@link MoonIllumination}, and the next major
+ * {@link MoonPhase}.
+ * <p>
+ * The sun and the moon times are scanned at the same instants. The Julian date, the
+ * sidereal time and the obliquity of the ecliptic of each instant are computed only
+ * once, and are shared by the sun and the moon. The positions at the start time are
+ * also used for the moon illumination. This is faster than using the separate
+ * builders, and the results are the same.
+ * <p>
+ * A geolocation is required.
+ *
+ * @since 3.12
+ */
+public final class DayAlmanac {
+
+    private final SunTimes sunTimes;
+    private final MoonTimes moonTimes;
+    private final MoonIllumination moonIllumination;
+    private final MoonPhase nextPhase;
+
+    private DayAlmanac(SunTimes sunTimes, MoonTimes moonTimes,
+                       MoonIllumination moonIllumination, MoonPhase nextPhase) {
+        this.sunTimes = sunTimes;
+        this.moonTimes = moonTimes;
+        this.moonIllumination = moonIllumination;
+        this.nextPhase = nextPhase;
+    }
+
+    /**
+     * Starts the computation of {@link DayAlmanac}.
+     *
+     * @return {@link Parameters} to set.
+     */
+    public static Parameters compute() {
+        return new DayAlmanacBuilder();
+    }
+
+    /**
+     * Collects all parameters for {@link DayAlmanac}.
+     * <p>
+     * The time window is used for the {@link SunTimes} and the {@link MoonTimes}.
+     */
+    public interface Parameters extends
+            GenericParameter<Parameters>,
+            LocationParameter<Parameters>,
+            TimeParameter<Parameters>,
+            WindowParameter<Parameters>,
+            EphemerisParameter<Parameters>,
+            Builder<DayAlmanac> {
+
+        /**
+         * Creates an immutable {@link Query} of the current parameters. It can be
+         * executed any number of times, can be shared between threads, and can be used
+         * as a cache key.
+         *
+         * @return {@link Query} of {@link DayAlmanac}
+         * @throws IllegalArgumentException
+         *             if the geolocation is missing
+         */
+        Query<DayAlmanac> query();
+    }
+
+    /**
+     * Builder for {@link DayAlmanac}. Performs the computations based on the parameters,
+     * and creates a {@link DayAlmanac} object that holds the result.
+     */
+    private static class DayAlmanacBuilder extends BaseBuilder<Parameters> implements Parameters {
+        @Override
+        public Query<DayAlmanac> query() {
+            if (!hasLocation()) {
+                throw new IllegalArgumentException("Geolocation is missing.");
+            }
+
+            DayAlmanacBuilder snapshot = (DayAlmanacBuilder) copy();
+            return new Query<>(DayAlmanac.class, snapshot::execute,
+                    getLatitude(), getLongitude(), getElevation(),
+                    getDateTime(), getDuration(), getEphemeris());
+        }
+
+        @Override
+        public DayAlmanac execute() {
+            if (!hasLocation()) {
+                throw new IllegalArgumentException("Geolocation is missing.");
+            }
+
+            double elevation = getElevation();
+            Ephemeris ephemeris = getEphemeris();
+            Frames frames = new Frames(getJulianDate(), getLatitudeRad(), getLongitudeRad(), ephemeris);
+
+            SunTimes.Parameters sunParameters = SunTimes.compute()
+                    .sameTimeAs(this)
+                    .sameLocationAs(this)
+                    .sameWindowAs(this)
+                    .ephemeris(ephemeris);
+            SunTimes sunTimes = SunTimes.compute(sunParameters, frames::sunHorizontal);
+
+            MoonTimes.Parameters moonParameters = MoonTimes.compute()
+                    .sameTimeAs(this)
+                    .sameLocationAs(this)
+                    .sameWindowAs(this)
+                    .ephemeris(ephemeris);
+            MoonTimes moonTimes = MoonTimes.compute(moonParameters, frames::moonHorizontal);
+
+            Frame start = frames.at(0.0);
+            MoonIllumination moonIllumination = MoonIllumination.compute(
+                    start.sun(),
+                    start.moon(),
+                    topocentric(frames.sunHorizontal(0.0), elevation),
+                    topocentric(frames.moonHorizontal(0.0), elevation));
+
+            MoonPhase nextPhase = MoonPhase.compute()
+                    .sameTimeAs(this)
+                    .ephemeris(ephemeris)
+                    .executeSequence(Phase.NEW_MOON, Phase.FIRST_QUARTER, Phase.FULL_MOON, Phase.LAST_QUARTER)
+                    .findFirst()
+                    .orElseThrow(IllegalStateException::new);
+
+            return new DayAlmanac(sunTimes, moonTimes, moonIllumination, nextPhase);
+        }
+
+        /**
+         * Converts a horizontal position to a topocentric position.
+         *
+         * @param pos Horizontal position
+         * @param elevation Elevation, in meters
+         * @return Topocentric position
+         */
+        private static Vector topocentric(Vector pos, double elevation) {
+            return Vector.ofPolar(
+                    pos.getPhi(),
+                    pos.getTheta() - parallax(elevation, pos.getR()),
+                    pos.getR()
+            );
+        }
+    }
+
+    /**
+     * The {@link Frame} of every instant, by the hour relative to the start time. Each
+     * {@link Frame} is only created once.
+     */
+    private static final class Frames {
+        private final JulianDate jd;
+        private final double lng;
+        private final Matrix toHorizontal;
+        private final Ephemeris ephemeris;
+        private final Map<Double, Frame> frames = new HashMap<>();
+
+        /**
+         * Creates a new {@link Frames} instance.
+         *
+         * @param jd {@link JulianDate} of the start time
+         * @param lat Latitude, in radians
+         * @param lng Longitude, in radians
+         * @param ephemeris {@link Ephemeris} to be used
+         */
+        public Frames(JulianDate jd, double lat, double lng, Ephemeris ephemeris) {
+            this.jd = jd;
+            this.lng = lng;
+            this.toHorizontal = equatorialToHorizontal(lat);
+            this.ephemeris = ephemeris;
+        }
+
+        /**
+         * Returns the {@link Frame} at the given hour, relative to the start time.
+         */
+        public Frame at(double hour) {
+            return frames.computeIfAbsent(hour, h -> new Frame(jd.atExactHour(h), ephemeris));
+        }
+
+        /**
+         * Returns the horizontal position of the sun at the given hour.
+         */
+        public Vector sunHorizontal(double hour) {
+            Frame frame = at(hour);
+            return horizontal(frame, frame.sun());
+        }
+
+        /**
+         * Returns the horizontal position of the moon at the given hour.
+         */
+        public Vector moonHorizontal(double hour) {
+            Frame frame = at(hour);
+            return horizontal(frame, frame.moon());
+        }
+
+        private Vector horizontal(Frame frame, Vector mc) {
+            double h = frame.gmst + lng - mc.getPhi();
+            return toHorizontal.multiply(Vector.ofPolar(h, mc.getTheta(), mc.getR()));
+        }
+    }
+
+    /**
+     * The values of an instant that are shared by the sun and the moon. The positions
+     * are computed when they are used for the first time.
+     */
+    private static final class Frame {
+        private final JulianDate date;
+        private final Ephemeris ephemeris;
+        private final double gmst;
+        private final Matrix rotateMatrix;
+        private @Nullable Vector sun = null;
+        private @Nullable Vector moon = null;
+
+        public Frame(JulianDate date, Ephemeris ephemeris) {
+            this.date = date;
+            this.ephemeris = ephemeris;
+            this.gmst = date.getGreenwichMeanSiderealTime();
+            this.rotateMatrix = equatorialToEcliptical(date).transpose();
+        }
+
+        /**
+         * Returns the geocentric position of the sun.
+         */
+        public Vector sun() {
+            Vector result = sun;
+            if (result == null) {
+                result = rotateMatrix.multiply(ephemeris.sunPositionEquatorial(date));
+                sun = result;
+            }
+            return result;
+        }
+
+        /**
+         * Returns the geocentric position of the moon.
+         */
+        public Vector moon() {
+            Vector result = moon;
+            if (result == null) {
+                result = rotateMatrix.multiply(ephemeris.moonPositionEquatorial(date));
+                moon = result;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The {@link SunTimes} within the time window.
+     */
+    public SunTimes getSunTimes() {
+        return sunTimes;
+    }
+
+    /**
+     * The {@link MoonTimes} within the time window.
+     */
+    public MoonTimes getMoonTimes() {
+        return moonTimes;
+    }
+
+    /**
+     * The topocentric {@link MoonIllumination} at the start time.
+     */
+    public MoonIllumination getMoonIllumination() {
+        return moonIllumination;
+    }
+
+    /**
+     * The next new moon, first quarter, full moon or last quarter after the start
+     * time, whatever comes first.
+     */
+    public MoonPhase getNextPhase() {
+        return nextPhase;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("DayAlmanac[sunTimes=").append(sunTimes);
+        sb.append(", moonTimes=").append(moonTimes);
+        sb.append(", moonIllumination=").append(moonIllumination);
+        sb.append(", nextPhase=").append(nextPhase);
+        sb.append(']');
+        return sb.toString();
+    }
+
+}
@@ -16,10 +16,12 @@ package org.shredzone.commons.suncalc;
 import static java.lang.Math.*;
 
 import org.shredzone.commons.suncalc.param.Builder;
+import org.shredzone.commons.suncalc.param.EphemerisParameter;
 import org.shredzone.commons.suncalc.param.GenericParameter;
 import org.shredzone.commons.suncalc.param.LocationParameter;
 import org.shredzone.commons.suncalc.param.TimeParameter;
 import org.shredzone.commons.suncalc.util.BaseBuilder;
+import org.shredzone.commons.suncalc.util.Ephemeris;
 import org.shredzone.commons.suncalc.util.JulianDate;
 import org.shredzone.commons.suncalc.util.Moon;
 import org.shredzone.commons.suncalc.util.Sun;
@@ -67,6 +69,7 @@ public class MoonIllumination {
             GenericParameter<Parameters>,
             TimeParameter<Parameters>,
             LocationParameter<Parameters>,
+            EphemerisParameter<Parameters>,
             Builder<MoonIllumination> {
 
         /**
@@ -77,6 +80,16 @@ public class MoonIllumination {
          */
         Parameters geocentric();
 
+        /**
+         * Creates an immutable {@link Query} of the current parameters. It can be
+         * executed any number of times, can be shared between threads, and can be used
+         * as a cache key.
+         *
+         * @return {@link Query} of {@link MoonIllumination}
+         * @since 3.12
+         */
+        Query<MoonIllumination> query();
+
     }
 
     /**
@@ -90,45 +103,77 @@ public class MoonIllumination {
             return this;
         }
 
+        @Override
+        public Query<MoonIllumination> query() {
+            Double latitude = hasLocation() ? getLatitude() : null;
+            Double longitude = hasLocation() ? getLongitude() : null;
+
+            MoonIlluminationBuilder snapshot = (MoonIlluminationBuilder) copy();
+            return new Query<>(MoonIllumination.class, snapshot::execute,
+                    latitude, longitude, getElevation(),
+                    getDateTime(), getEphemeris());
+        }
+
         @Override
         public MoonIllumination execute() {
             JulianDate t = getJulianDate();
-            Vector s = Sun.position(t);
-            Vector m = Moon.position(t);
-
-            double phi = PI - acos(m.dot(s) / (m.getR() * s.getR()));
-            Vector sunMoon = m.cross(s);
-            double angle = atan2(
-                    cos(s.getTheta()) * sin(s.getPhi() - m.getPhi()),
-                    sin(s.getTheta()) * cos(m.getTheta()) - cos(s.getTheta()) * sin(m.getTheta()) * cos(s.getPhi() - m.getPhi())
-            );
+            Ephemeris ephemeris = getEphemeris();
+            Vector s = Sun.position(t, ephemeris);
+            Vector m = Moon.position(t, ephemeris);
 
             Vector sTopo, mTopo;
             if (hasLocation()) {
-                sTopo = Sun.positionTopocentric(t, getLatitudeRad(), getLongitudeRad(), getElevation());
-                mTopo = Moon.positionTopocentric(t, getLatitudeRad(), getLongitudeRad(), getElevation());
+                sTopo = Sun.positionTopocentric(t, getLatitudeRad(), getLongitudeRad(), getElevation(), ephemeris);
+                mTopo = Moon.positionTopocentric(t, getLatitudeRad(), getLongitudeRad(), getElevation(), ephemeris);
             } else {
                 sTopo = s;
                 mTopo = m;
             }
 
-            double r = mTopo.subtract(sTopo).norm();
-            double re = sTopo.norm();
-            double d = mTopo.norm();
-            double elongation = acos((d*d + re*re - r*r) / (2.0*d*re));
-            double moonRadius = Moon.angularRadius(mTopo.getR());
-            double crescentWidth = moonRadius * (1 - cos(elongation));
-
-            return new MoonIllumination(
-                            (1 + cos(phi)) / 2,
-                            toDegrees(phi * signum(sunMoon.getTheta())),
-                            toDegrees(angle),
-                            toDegrees(elongation),
-                            toDegrees(moonRadius),
-                            toDegrees(crescentWidth));
+            return compute(s, m, sTopo, mTopo);
         }
     }
 
+    /**
+     * Computes the {@link MoonIllumination} from the given positions, so the positions
+     * can be shared with other computations.
+     *
+     * @param s
+     *            Geocentric position of the sun
+     * @param m
+     *            Geocentric position of the moon
+     * @param sTopo
+     *            Topocentric position of the sun, or the geocentric position if there
+     *            is no location
+     * @param mTopo
+     *            Topocentric position of the moon, or the geocentric position if there
+     *            is no location
+     * @return {@link MoonIllumination}
+     */
+    static MoonIllumination compute(Vector s, Vector m, Vector sTopo, Vector mTopo) {
+        double phi = PI - acos(m.dot(s) / (m.getR() * s.getR()));
+        Vector sunMoon = m.cross(s);
+        double angle = atan2(
+                cos(s.getTheta()) * sin(s.getPhi() - m.getPhi()),
+                sin(s.getTheta()) * cos(m.getTheta()) - cos(s.getTheta()) * sin(m.getTheta()) * cos(s.getPhi() - m.getPhi())
+        );
+
+        double r = mTopo.subtract(sTopo).norm();
+        double re = sTopo.norm();
+        double d = mTopo.norm();
+        double elongation = acos((d*d + re*re - r*r) / (2.0*d*re));
+        double moonRadius = Moon.angularRadius(mTopo.getR());
+        double crescentWidth = moonRadius * (1 - cos(elongation));
+
+        return new MoonIllumination(
+                        (1 + cos(phi)) / 2,
+                        toDegrees(phi * signum(sunMoon.getTheta())),
+                        toDegrees(angle),
+                        toDegrees(elongation),
+                        toDegrees(moonRadius),
+                        toDegrees(crescentWidth));
+    }
+
     /**
      * Illuminated fraction. {@code 0.0} indicates new moon, {@code 1.0} indicates full
      * moon.
@@ -14,19 +14,27 @@
 package org.shredzone.commons.suncalc;
 
 import static java.lang.Math.PI;
+import static java.lang.Math.max;
+import static java.lang.Math.toDegrees;
 import static java.lang.Math.toRadians;
 import static org.shredzone.commons.suncalc.util.ExtendedMath.PI2;
 
 import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.shredzone.commons.suncalc.param.Builder;
+import org.shredzone.commons.suncalc.param.EphemerisParameter;
 import org.shredzone.commons.suncalc.param.GenericParameter;
 import org.shredzone.commons.suncalc.param.TimeParameter;
 import org.shredzone.commons.suncalc.util.BaseBuilder;
+import org.shredzone.commons.suncalc.util.Ephemeris;
 import org.shredzone.commons.suncalc.util.JulianDate;
-import org.shredzone.commons.suncalc.util.Moon;
 import org.shredzone.commons.suncalc.util.Pegasus;
-import org.shredzone.commons.suncalc.util.Sun;
 import org.shredzone.commons.suncalc.util.Vector;
 
 /**
@@ -37,12 +45,16 @@ import org.shredzone.commons.suncalc.util.Vector;
  */
 public class MoonPhase {
 
+    private static final double SUN_LIGHT_TIME_TAU = 8.32 / (1440.0 * 36525.0);
+
     private final ZonedDateTime time;
     private final double distance;
+    private final double angle;
 
-    private MoonPhase(ZonedDateTime time, double distance) {
+    private MoonPhase(ZonedDateTime time, double distance, double angle) {
         this.time = time;
         this.distance = distance;
+        this.angle = toDegrees(angle);
     }
 
     /**
@@ -60,6 +72,7 @@ public class MoonPhase {
     public interface Parameters extends
             GenericParameter<Parameters>,
             TimeParameter<Parameters>,
+            EphemerisParameter<Parameters>,
             Builder<MoonPhase> {
 
         /**
@@ -82,6 +95,37 @@ public class MoonPhase {
          * @return itself
          */
         Parameters phase(double phase);
+
+        /**
+         * Computes the sequence of the given moon phases, starting from the time that
+         * has been set.
+         * <p>
+         * The returned stream is infinite and ordered chronologically. The moon phases
+         * are computed lazily while the stream is consumed. Each moon phase is searched
+         * close to the time that is expected from the previous one, so this is much
+         * faster than invoking {@link #execute()} for every single moon phase.
+         * <p>
+         * The parameters are evaluated when this method is invoked. Later changes to
+         * the parameters do not affect the returned stream.
+         *
+         * @param phases
+         *            {@link Phase} to be computed. If no phase is given, the phase that
+         *            has been set via {@link #phase(Phase)} or {@link #phase(double)} is
+         *            used.
+         * @return {@link Stream} of {@link MoonPhase}
+         * @since 3.12
+         */
+        Stream<MoonPhase> executeSequence(Phase... phases);
+
+        /**
+         * Creates an immutable {@link Query} of the current parameters. It can be
+         * executed any number of times, can be shared between threads, and can be used
+         * as a cache key.
+         *
+         * @return {@link Query} of {@link MoonPhase}
+         * @since 3.12
+         */
+        Query<MoonPhase> query();
     }
 
     /**
@@ -208,8 +252,6 @@ public class MoonPhase {
      * and creates a {@link MoonPhase} object that holds the result.
      */
     private static class MoonPhaseBuilder extends BaseBuilder<Parameters> implements Parameters {
-        private static final double SUN_LIGHT_TIME_TAU = 8.32 / (1440.0 * 36525.0);
-
         private double phase = Phase.NEW_MOON.getAngleRad();
 
         @Override
@@ -224,9 +266,17 @@ public class MoonPhase {
             return this;
         }
 
+        @Override
+        public Query<MoonPhase> query() {
+            MoonPhaseBuilder snapshot = (MoonPhaseBuilder) copy();
+            return new Query<>(MoonPhase.class, snapshot::execute,
+                    getDateTime(), getEphemeris(), phase);
+        }
+
         @Override
         public MoonPhase execute() {
             final JulianDate jd = getJulianDate();
+            final Ephemeris ephemeris = getEphemeris();
 
             double dT = 7.0 / 36525.0;                      // step rate: 1 week
             double accuracy = (0.5 / 1440.0) / 36525.0;     // accuracy: 30 seconds
@@ -234,40 +284,164 @@ public class MoonPhase {
             double t0 = jd.getJulianCentury();
             double t1 = t0 + dT;
 
-            double d0 = moonphase(jd, t0);
-            double d1 = moonphase(jd, t1);
+            double d0 = moonphase(ephemeris, jd, t0, phase);
+            double d1 = moonphase(ephemeris, jd, t1, phase);
 
             while (d0 * d1 > 0.0 || d1 < d0) {
                 t0 = t1;
                 d0 = d1;
                 t1 += dT;
-                d1 = moonphase(jd, t1);
+                d1 = moonphase(ephemeris, jd, t1, phase);
             }
 
-            double tphase = Pegasus.calculate(t0, t1, accuracy, x -> moonphase(jd, x));
+            double tphase = Pegasus.calculate(t0, t1, accuracy, x -> moonphase(ephemeris, jd, x, phase));
             JulianDate tjd = jd.atJulianCentury(tphase);
-            return new MoonPhase(tjd.getDateTime(), Moon.positionEquatorial(tjd).getR());
+            return new MoonPhase(tjd.getDateTime(), ephemeris.moonPositionEquatorial(tjd).getR(), phase);
+        }
+
+        @Override
+        public Stream<MoonPhase> executeSequence(Phase... phases) {
+            double[] angles;
+            if (phases.length > 0) {
+                angles = Arrays.stream(phases).mapToDouble(Phase::getAngleRad).sorted().distinct().toArray();
+            } else {
+                double normalized = phase % PI2;
+                angles = new double[] {normalized < 0.0 ? normalized + PI2 : normalized};
+            }
+            return StreamSupport.stream(new MoonPhaseSpliterator(getEphemeris(), getJulianDate(), angles), false);
+        }
+    }
+
+    /**
+     * Computes a sequence of moon phases. The first moon phase is searched like in
+     * {@link MoonPhaseBuilder#execute()}. For all following phases, the expected time
+     * is estimated from the previous phase and the mean synodic month, and the phase
+     * is searched in a short interval around that time.
+     */
+    private static final class MoonPhaseSpliterator extends Spliterators.AbstractSpliterator<MoonPhase> {
+        private static final double SYNODIC_MONTH = 29.530589 / 36525.0;
+        private static final double MARGIN = 2.0 / 36525.0;            // 2 days
+        private static final double ACCURACY = (0.5 / 1440.0) / 36525.0;    // 30 seconds
+
+        private final Ephemeris ephemeris;
+        private final JulianDate jd;
+        private final double[] angles;
+        private int index = -1;
+        private double previous;
+
+        public MoonPhaseSpliterator(Ephemeris ephemeris, JulianDate jd, double[] angles) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+            this.ephemeris = ephemeris;
+            this.jd = jd;
+            this.angles = angles;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super MoonPhase> action) {
+            double tphase;
+            if (index < 0) {
+                tphase = first();
+            } else {
+                int next = (index + 1) % angles.length;
+                double delta = angles[next] - angles[index];
+                if (delta <= 0.0) {
+                    delta += PI2;
+                }
+                index = next;
+                tphase = following(previous + delta / PI2 * SYNODIC_MONTH);
+            }
+
+            previous = tphase;
+            JulianDate tjd = jd.atJulianCentury(tphase);
+            action.accept(new MoonPhase(tjd.getDateTime(),
+                    ephemeris.moonPositionEquatorial(tjd).getR(), angles[index]));
+            return true;
         }
 
         /**
-         * Calculates the position of the moon at the given phase.
-         *
-         * @param jd
-         *            Base Julian date
-         * @param t
-         *            Ephemeris time
-         * @return difference angle of the sun's and moon's position
+         * Finds the first phase, by picking the phase that comes next, and then stepping
+         * forward in weekly steps.
          */
-        private double moonphase(JulianDate jd, double t) {
-            Vector sun = Sun.positionEquatorial(jd.atJulianCentury(t - SUN_LIGHT_TIME_TAU));
-            Vector moon = Moon.positionEquatorial(jd.atJulianCentury(t));
-            double diff = moon.getPhi() - sun.getPhi() - phase; //NOSONAR: false positive
-            while (diff < 0.0) {
-                diff += PI2;
+        private double first() {
+            double t0 = jd.getJulianCentury();
+            double elongation = moonphase(ephemeris, jd, t0, 0.0);
+
+            index = 0;
+            double minDelta = PI2;
+            for (int ix = 0; ix < angles.length; ix++) {
+                double delta = (angles[ix] - elongation) % PI2;
+                if (delta < 0.0) {
+                    delta += PI2;
+                }
+                if (delta < minDelta) {
+                    minDelta = delta;
+                    index = ix;
+                }
+            }
+
+            return search(t0, 7.0 / 36525.0);
+        }
+
+        /**
+         * Finds the current phase in an interval around the expected time.
+         */
+        private double following(double expected) {
+            double angle = angles[index];
+            double t0 = max(expected - MARGIN, previous);
+            double t1 = expected + MARGIN;
+            double d0 = moonphase(ephemeris, jd, t0, angle);
+            double d1 = moonphase(ephemeris, jd, t1, angle);
+            if (d0 < 0.0 && d1 > 0.0) {
+                return Pegasus.calculate(t0, t1, ACCURACY, x -> moonphase(ephemeris, jd, x, angle));
             }
-            return ((diff + PI) % PI2) - PI;
+
+            // Not within the expected interval, fall back to daily steps
+            return search(previous, 1.0 / 36525.0);
         }
 
+        /**
+         * Steps forward until the current phase is enclosed, then locates it.
+         */
+        private double search(double start, double dT) {
+            double angle = angles[index];
+            double t0 = start;
+            double t1 = t0 + dT;
+
+            double d0 = moonphase(ephemeris, jd, t0, angle);
+            double d1 = moonphase(ephemeris, jd, t1, angle);
+
+            while (d0 * d1 > 0.0 || d1 < d0) {
+                t0 = t1;
+                d0 = d1;
+                t1 += dT;
+                d1 = moonphase(ephemeris, jd, t1, angle);
+            }
+
+            return Pegasus.calculate(t0, t1, ACCURACY, x -> moonphase(ephemeris, jd, x, angle));
+        }
+    }
+
+    /**
+     * Calculates the position of the moon at the given phase.
+     *
+     * @param ephemeris
+     *            {@link Ephemeris} to be used
+     * @param jd
+     *            Base Julian date
+     * @param t
+     *            Ephemeris time
+     * @param phase
+     *            Desired phase, in radians
+     * @return difference angle of the sun's and moon's position
+     */
+    private static double moonphase(Ephemeris ephemeris, JulianDate jd, double t, double phase) {
+        Vector sun = ephemeris.sunPositionEquatorial(jd.atJulianCentury(t - SUN_LIGHT_TIME_TAU));
+        Vector moon = ephemeris.moonPositionEquatorial(jd.atJulianCentury(t));
+        double diff = moon.getPhi() - sun.getPhi() - phase; //NOSONAR: false positive
+        while (diff < 0.0) {
+            diff += PI2;
+        }
+        return ((diff + PI) % PI2) - PI;
     }
 
     /**
@@ -310,6 +484,16 @@ public class MoonPhase {
         return distance > 405000.0;
     }
 
+    /**
+     * The {@link Phase} that has been computed. If a free phase angle was used, the
+     * closest matching {@link Phase} is returned.
+     *
+     * @since 3.12
+     */
+    public Phase getPhase() {
+        return Phase.toPhase(angle);
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
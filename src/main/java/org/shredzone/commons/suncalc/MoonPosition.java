@@ -14,16 +14,27 @@
 package org.shredzone.commons.suncalc;
 
 import static java.lang.Math.*;
+import static org.shredzone.commons.suncalc.util.ExtendedMath.equatorialToEcliptical;
 import static org.shredzone.commons.suncalc.util.ExtendedMath.equatorialToHorizontal;
 import static org.shredzone.commons.suncalc.util.ExtendedMath.refraction;
 
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
 import org.shredzone.commons.suncalc.param.Builder;
+import org.shredzone.commons.suncalc.param.EphemerisParameter;
 import org.shredzone.commons.suncalc.param.GenericParameter;
 import org.shredzone.commons.suncalc.param.LocationParameter;
 import org.shredzone.commons.suncalc.param.TimeParameter;
 import org.shredzone.commons.suncalc.util.BaseBuilder;
+import org.shredzone.commons.suncalc.util.Ephemeris;
 import org.shredzone.commons.suncalc.util.JulianDate;
+import org.shredzone.commons.suncalc.util.Matrix;
 import org.shredzone.commons.suncalc.util.Moon;
+import org.shredzone.commons.suncalc.util.ParallelExecution;
+import org.shredzone.commons.suncalc.util.ParallelExecution.Range;
 import org.shredzone.commons.suncalc.util.Vector;
 
 /**
@@ -61,7 +72,144 @@ public class MoonPosition {
             GenericParameter<Parameters>,
             LocationParameter<Parameters>,
             TimeParameter<Parameters>,
+            EphemerisParameter<Parameters>,
             Builder<MoonPosition> {
+
+        /**
+         * Computes a time series of moon positions, and stores the results in the given
+         * arrays.
+         * <p>
+         * The series starts at the time that has been set, and then proceeds in the
+         * given step width. No {@link MoonPosition} objects are created. Terms that
+         * only depend on the location are computed once per series. The obliquity of
+         * the ecliptic is only updated once per day of series time, so the results may
+         * deviate from the ones of {@link #execute()} by less than 0.002 arc seconds.
+         *
+         * @param step
+         *            Time between two samples. May be negative for a series that goes
+         *            back in time.
+         * @param count
+         *            Number of samples to compute
+         * @param azimuth
+         *            Receives the moon azimuth, see {@link MoonPosition#getAzimuth()}.
+         *            {@code null} if not needed.
+         * @param altitude
+         *            Receives the moon altitude, see {@link MoonPosition#getAltitude()}.
+         *            {@code null} if not needed.
+         * @param trueAltitude
+         *            Receives the true moon altitude, see
+         *            {@link MoonPosition#getTrueAltitude()}. {@code null} if not needed.
+         * @param distance
+         *            Receives the moon distance, see {@link MoonPosition#getDistance()}.
+         *            {@code null} if not needed.
+         * @param parallacticAngle
+         *            Receives the parallactic angle, see
+         *            {@link MoonPosition#getParallacticAngle()}. {@code null} if not
+         *            needed.
+         * @throws IllegalArgumentException
+         *             if an array is smaller than {@code count}
+         * @since 3.12
+         */
+        void executeSeries(Duration step, int count,
+                @Nullable double[] azimuth, @Nullable double[] altitude,
+                @Nullable double[] trueAltitude, @Nullable double[] distance,
+                @Nullable double[] parallacticAngle);
+
+        /**
+         * Computes the moon positions at many locations for the time that has been set,
+         * and stores the results in the given arrays.
+         * <p>
+         * The geocentric moon position and the sidereal time are only computed once, so
+         * this is much faster than computing each location separately. No
+         * {@link MoonPosition} objects are created. A location that has been set is
+         * ignored. The results are identical to the ones of {@link #execute()}.
+         *
+         * @param latitude
+         *            Latitudes of the locations, in degrees
+         * @param longitude
+         *            Longitudes of the locations, in degrees. Must have the same length
+         *            as {@code latitude}.
+         * @param azimuth
+         *            Receives the moon azimuth, see {@link MoonPosition#getAzimuth()}.
+         *            {@code null} if not needed.
+         * @param altitude
+         *            Receives the moon altitude, see {@link MoonPosition#getAltitude()}.
+         *            {@code null} if not needed.
+         * @param trueAltitude
+         *            Receives the true moon altitude, see
+         *            {@link MoonPosition#getTrueAltitude()}. {@code null} if not needed.
+         * @param distance
+         *            Receives the moon distance, see {@link MoonPosition#getDistance()}.
+         *            {@code null} if not needed.
+         * @param parallacticAngle
+         *            Receives the parallactic angle, see
+         *            {@link MoonPosition#getParallacticAngle()}. {@code null} if not
+         *            needed.
+         * @throws IllegalArgumentException
+         *             if a location is invalid, or an array is smaller than the number
+         *             of locations
+         * @since 3.12
+         */
+        void executeLocations(double[] latitude, double[] longitude,
+                @Nullable double[] azimuth, @Nullable double[] altitude,
+                @Nullable double[] trueAltitude, @Nullable double[] distance,
+                @Nullable double[] parallacticAngle);
+
+        /**
+         * Computes the moon positions at many locations for the time that has been set,
+         * and stores the results in the given arrays. The locations are split into
+         * chunks that are computed in parallel by the given {@link Executor}.
+         * <p>
+         * The method returns when all locations have been computed. The results are
+         * identical to the ones of
+         * {@link #executeLocations(double[], double[], double[], double[], double[], double[], double[])},
+         * and do not depend on the order of execution.
+         *
+         * @param executor
+         *            {@link Executor} that computes the chunks, e.g.
+         *            {@link java.util.concurrent.ForkJoinPool#commonPool()}
+         * @param latitude
+         *            Latitudes of the locations, in degrees
+         * @param longitude
+         *            Longitudes of the locations, in degrees. Must have the same length
+         *            as {@code latitude}.
+         * @param azimuth
+         *            Receives the moon azimuth, see {@link MoonPosition#getAzimuth()}.
+         *            {@code null} if not needed.
+         * @param altitude
+         *            Receives the moon altitude, see {@link MoonPosition#getAltitude()}.
+         *            {@code null} if not needed.
+         * @param trueAltitude
+         *            Receives the true moon altitude, see
+         *            {@link MoonPosition#getTrueAltitude()}. {@code null} if not needed.
+         * @param distance
+         *            Receives the moon distance, see {@link MoonPosition#getDistance()}.
+         *            {@code null} if not needed.
+         * @param parallacticAngle
+         *            Receives the parallactic angle, see
+         *            {@link MoonPosition#getParallacticAngle()}. {@code null} if not
+         *            needed.
+         * @throws IllegalArgumentException
+         *             if a location is invalid, or an array is smaller than the number
+         *             of locations
+         * @since 3.12
+         */
+        void executeLocations(Executor executor, double[] latitude, double[] longitude,
+                @Nullable double[] azimuth, @Nullable double[] altitude,
+                @Nullable double[] trueAltitude, @Nullable double[] distance,
+                @Nullable double[] parallacticAngle);
+
+        /**
+         * Creates an immutable {@link Query} of the current parameters. It can be
+         * executed any number of times, can be shared between threads, and can be used
+         * as a cache key.
+         *
+         * @return {@link Query} of {@link MoonPosition}
+         * @throws IllegalArgumentException
+         *             if the geolocation is missing
+         * @since 3.12
+         */
+        Query<MoonPosition> query();
     }
 
     /**
@@ -69,6 +217,18 @@ public class MoonPosition {
      * parameters, and creates a {@link MoonPosition} object that holds the result.
      */
     private static class MoonPositionBuilder extends BaseBuilder<Parameters> implements Parameters {
+        @Override
+        public Query<MoonPosition> query() {
+            if (!hasLocation()) {
+                throw new IllegalArgumentException("Geolocation is missing.");
+            }
+
+            MoonPositionBuilder snapshot = (MoonPositionBuilder) copy();
+            return new Query<>(MoonPosition.class, snapshot::execute,
+                    getLatitude(), getLongitude(), getElevation(),
+                    getDateTime().toInstant(), getEphemeris());
+        }
+
         @Override
         public MoonPosition execute() {
             if (!hasLocation()) {
@@ -80,7 +240,7 @@ public class MoonPosition {
             double phi = getLatitudeRad();
             double lambda = getLongitudeRad();
 
-            Vector mc = Moon.position(t);
+            Vector mc = Moon.position(t, getEphemeris());
             double h = t.getGreenwichMeanSiderealTime() + lambda - mc.getPhi();
 
             Vector horizontal = equatorialToHorizontal(h, mc.getTheta(), mc.getR(), phi);
@@ -96,6 +256,133 @@ public class MoonPosition {
                     mc.getR(),
                     pa);
         }
+
+        @Override
+        public void executeSeries(Duration step, int count,
+                @Nullable double[] azimuth, @Nullable double[] altitude,
+                @Nullable double[] trueAltitude, @Nullable double[] distance,
+                @Nullable double[] parallacticAngle) {
+            if (!hasLocation()) {
+                throw new IllegalArgumentException("Geolocation is missing.");
+            }
+            Objects.requireNonNull(step, "step");
+            if (count < 0) {
+                throw new IllegalArgumentException("count must not be negative");
+            }
+            checkArray(azimuth, count, "azimuth");
+            checkArray(altitude, count, "altitude");
+            checkArray(trueAltitude, count, "trueAltitude");
+            checkArray(distance, count, "distance");
+            checkArray(parallacticAngle, count, "parallacticAngle");
+
+            double phi = getLatitudeRad();
+            double lambda = getLongitudeRad();
+            double tanPhi = tan(phi);
+            Matrix horizon = equatorialToHorizontal(phi);
+            Ephemeris ephemeris = getEphemeris();
+
+            JulianDate t = getJulianDate();
+            Matrix ecliptic = null;
+            double eclipticMjd = 0.0;
+
+            for (int ix = 0; ix < count; ix++) {
+                double mjd = t.getModifiedJulianDate();
+                if (ecliptic == null || abs(mjd - eclipticMjd) > 1.0) {
+                    ecliptic = equatorialToEcliptical(t).transpose();
+                    eclipticMjd = mjd;
+                }
+
+                Vector mc = ecliptic.multiply(ephemeris.moonPositionEquatorial(t));
+                double h = t.getGreenwichMeanSiderealTime() + lambda - mc.getPhi();
+                Vector horizontal = horizon.multiply(Vector.ofPolar(h, mc.getTheta(), mc.getR()));
+                double theta = horizontal.getTheta();
+
+                if (azimuth != null) {
+                    azimuth[ix] = (toDegrees(horizontal.getPhi()) + 180.0) % 360.0;
+                }
+                if (altitude != null) {
+                    altitude[ix] = toDegrees(theta + refraction(theta));
+                }
+                if (trueAltitude != null) {
+                    trueAltitude[ix] = toDegrees(theta);
+                }
+                if (distance != null) {
+                    distance[ix] = mc.getR();
+                }
+                if (parallacticAngle != null) {
+                    parallacticAngle[ix] = toDegrees(atan2(sin(h),
+                            tanPhi * cos(mc.getTheta()) - sin(mc.getTheta()) * cos(h)));
+                }
+
+                t = t.plus(step);
+            }
+        }
+
+        @Override
+        public void executeLocations(double[] latitude, double[] longitude,
+                @Nullable double[] azimuth, @Nullable double[] altitude,
+                @Nullable double[] trueAltitude, @Nullable double[] distance,
+                @Nullable double[] parallacticAngle) {
+            locations(null, latitude, longitude, azimuth, altitude, trueAltitude, distance, parallacticAngle);
+        }
+
+        @Override
+        public void executeLocations(Executor executor, double[] latitude, double[] longitude,
+                @Nullable double[] azimuth, @Nullable double[] altitude,
+                @Nullable double[] trueAltitude, @Nullable double[] distance,
+                @Nullable double[] parallacticAngle) {
+            Objects.requireNonNull(executor, "executor");
+            locations(executor, latitude, longitude, azimuth, altitude, trueAltitude, distance, parallacticAngle);
+        }
+
+        private void locations(@Nullable Executor executor, double[] latitude, double[] longitude,
+                @Nullable double[] azimuth, @Nullable double[] altitude,
+                @Nullable double[] trueAltitude, @Nullable double[] distance,
+                @Nullable double[] parallacticAngle) {
+            checkLocations(latitude, longitude);
+            int count = latitude.length;
+            checkArray(azimuth, count, "azimuth");
+            checkArray(altitude, count, "altitude");
+            checkArray(trueAltitude, count, "trueAltitude");
+            checkArray(distance, count, "distance");
+            checkArray(parallacticAngle, count, "parallacticAngle");
+
+            JulianDate t = getJulianDate();
+            Vector mc = Moon.position(t, getEphemeris());
+            double gmst = t.getGreenwichMeanSiderealTime();
+
+            Range task = (from, to) -> {
+                for (int ix = from; ix < to; ix++) {
+                    double phi = toRadians(latitude[ix]);
+                    double h = gmst + toRadians(longitude[ix]) - mc.getPhi();
+                    Vector horizontal = equatorialToHorizontal(h, mc.getTheta(), mc.getR(), phi);
+                    double theta = horizontal.getTheta();
+
+                    if (azimuth != null) {
+                        azimuth[ix] = (toDegrees(horizontal.getPhi()) + 180.0) % 360.0;
+                    }
+                    if (altitude != null) {
+                        altitude[ix] = toDegrees(theta + refraction(theta));
+                    }
+                    if (trueAltitude != null) {
+                        trueAltitude[ix] = toDegrees(theta);
+                    }
+                    if (distance != null) {
+                        distance[ix] = mc.getR();
+                    }
+                    if (parallacticAngle != null) {
+                        parallacticAngle[ix] = toDegrees(atan2(sin(h),
+                                tan(phi) * cos(mc.getTheta()) - sin(mc.getTheta()) * cos(h)));
+                    }
+                }
+            };
+
+            if (executor != null) {
+                ParallelExecution.execute(executor, count, task);
+            } else {
+                task.compute(0, count);
+            }
+        }
     }
 
     /**
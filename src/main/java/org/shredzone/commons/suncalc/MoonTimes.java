@@ -13,22 +13,29 @@
  */
 package org.shredzone.commons.suncalc;
 
-import static java.lang.Math.ceil;
-import static java.lang.Math.floor;
+import static java.lang.Math.*;
 import static org.shredzone.commons.suncalc.util.ExtendedMath.apparentRefraction;
+import static org.shredzone.commons.suncalc.util.ExtendedMath.equatorialToHorizontal;
+import static org.shredzone.commons.suncalc.util.ExtendedMath.maxHeightRate;
 import static org.shredzone.commons.suncalc.util.ExtendedMath.parallax;
+import static org.shredzone.commons.suncalc.util.ExtendedMath.skipHours;
 
 import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleUnaryOperator;
 
 import edu.umd.cs.findbugs.annotations.Nullable;
 import org.shredzone.commons.suncalc.param.Builder;
+import org.shredzone.commons.suncalc.param.EphemerisParameter;
 import org.shredzone.commons.suncalc.param.GenericParameter;
 import org.shredzone.commons.suncalc.param.LocationParameter;
 import org.shredzone.commons.suncalc.param.TimeParameter;
 import org.shredzone.commons.suncalc.param.WindowParameter;
 import org.shredzone.commons.suncalc.util.BaseBuilder;
+import org.shredzone.commons.suncalc.util.Ephemeris;
 import org.shredzone.commons.suncalc.util.JulianDate;
+import org.shredzone.commons.suncalc.util.Matrix;
 import org.shredzone.commons.suncalc.util.Moon;
 import org.shredzone.commons.suncalc.util.QuadraticInterpolation;
 import org.shredzone.commons.suncalc.util.Vector;
@@ -60,6 +67,21 @@ public final class MoonTimes {
         return new MoonTimesBuilder();
     }
 
+    /**
+     * Computes the {@link MoonTimes} from the given moon positions, so the positions
+     * can be shared with other computations. The {@link ResultCache} is not used.
+     *
+     * @param parameters
+     *            {@link Parameters} created by {@link #compute()}
+     * @param moon
+     *            Function returning the horizontal moon position at the given hour,
+     *            relative to the start time
+     * @return {@link MoonTimes}
+     */
+    static MoonTimes compute(Parameters parameters, DoubleFunction<Vector> moon) {
+        return ((MoonTimesBuilder) parameters).compute(moon);
+    }
+
     /**
      * Collects all parameters for {@link MoonTimes}.
      */
@@ -68,7 +90,32 @@ public final class MoonTimes {
             LocationParameter<Parameters>,
             TimeParameter<Parameters>,
             WindowParameter<Parameters>,
+            EphemerisParameter<Parameters>,
             Builder<MoonTimes> {
+
+        /**
+         * Uses the given {@link ResultCache}. If the same query has been computed
+         * before, the result is taken from the cache. The location is quantized to the
+         * resolution of the cache, see {@link ResultCache} for details.
+         *
+         * @param cache
+         *            {@link ResultCache} to use, or {@code null} to compute every query
+         * @return itself
+         * @since 3.12
+         */
+        Parameters cache(@Nullable ResultCache cache);
+
+        /**
+         * Creates an immutable {@link Query} of the current parameters. It can be
+         * executed any number of times, can be shared between threads, and can be used
+         * as a cache key.
+         *
+         * @return {@link Query} of {@link MoonTimes}
+         * @throws IllegalArgumentException
+         *             if the geolocation is missing
+         * @since 3.12
+         */
+        Query<MoonTimes> query();
     }
 
     /**
@@ -76,7 +123,28 @@ public final class MoonTimes {
      * and creates a {@link MoonTimes} object that holds the result.
      */
     private static class MoonTimesBuilder extends BaseBuilder<Parameters> implements Parameters {
+        private static final double MOON_MOTION_RATE = toRadians(0.5);         // per hour
+
         private double refraction = apparentRefraction(0.0);
+        private @Nullable ResultCache cache = null;
+
+        @Override
+        public Parameters cache(@Nullable ResultCache cache) {
+            this.cache = cache;
+            return this;
+        }
+
+        @Override
+        public Query<MoonTimes> query() {
+            if (!hasLocation()) {
+                throw new IllegalArgumentException("Geolocation is missing.");
+            }
+
+            MoonTimesBuilder snapshot = (MoonTimesBuilder) copy();
+            return new Query<>(MoonTimes.class, snapshot::execute,
+                    getLatitude(), getLongitude(), getElevation(),
+                    getDateTime(), getDuration(), getEphemeris(), cache);
+        }
 
         @Override
         public MoonTimes execute() {
@@ -84,7 +152,39 @@ public final class MoonTimes {
                 throw new IllegalArgumentException("Geolocation is missing.");
             }
 
+            ResultCache resultCache = cache;
+            if (resultCache != null) {
+                MoonTimesBuilder snapped = (MoonTimesBuilder) copy();
+                snapped.cache = null;
+                snapped.at(resultCache.snapLatitude(getLatitude()), resultCache.snapLongitude(getLongitude()));
+                snapped.elevation(resultCache.snapElevation(getElevation()));
+                return resultCache.get(snapped.query());
+            }
+
+            return compute();
+        }
+
+        /**
+         * Computes the {@link MoonTimes}, without using the cache.
+         */
+        private MoonTimes compute() {
             JulianDate jd = getJulianDate();
+            double lat = getLatitudeRad();
+            double lng = getLongitudeRad();
+            Ephemeris ephemeris = getEphemeris();
+            return compute(hour -> Moon.positionHorizontal(jd.atHour(hour), lat, lng, ephemeris));
+        }
+
+        /**
+         * Computes the {@link MoonTimes}, without using the cache.
+         *
+         * @param moon
+         *            Function returning the horizontal moon position at the given hour,
+         *            relative to the start time
+         */
+        private MoonTimes compute(DoubleFunction<Vector> moon) {
+            JulianDate jd = getJulianDate();
+            DoubleUnaryOperator height = hour -> correctedMoonHeight(moon.apply(hour));
 
             Double rise = null;
             Double set = null;
@@ -108,9 +208,12 @@ public final class MoonTimes {
             int minHours = (int) floor(lowerLimitHours);
             int maxHours = (int) ceil(upperLimitHours);
 
-            double y_minus = correctedMoonHeight(jd.atHour(hour - 1.0));
-            double y_0 = correctedMoonHeight(jd.atHour(hour));
-            double y_plus = correctedMoonHeight(jd.atHour(hour + 1.0));
+            double maxRate = maxHeightRate(getLatitudeRad(), MOON_MOTION_RATE);
+            Matrix toEquatorial = equatorialToHorizontal(getLatitudeRad()).transpose();
+
+            double y_minus = height.applyAsDouble(hour - 1.0);
+            double y_0 = height.applyAsDouble(hour);
+            double y_plus = height.applyAsDouble(hour + 1.0);
 
             if (y_0 > 0.0) {
                 alwaysUp = true;
@@ -156,15 +259,39 @@ public final class MoonTimes {
                     break;
                 }
 
+                // Skip all hours where the moon height is too far from the horizon
+                // to cross it.
+                double y_lead = hourStep > 0 ? y_plus : y_minus;
+                int skip = (int) floor(abs(y_lead) / maxRate);
+                if (skip > 1) {
+                    while (skip > 1 && hour <= maxHours && hour >= minHours) {
+                        hour += skip * hourStep;
+                        Vector pos = moon.apply(hour + hourStep);
+                        y_lead = correctedMoonHeight(pos);
+                        skip = skipHours(pos, y_lead, getLatitudeRad(), maxRate,
+                                MOON_MOTION_RATE, toEquatorial);
+                    }
+                    if (hourStep > 0) {
+                        y_minus = height.applyAsDouble(hour - 1.0);
+                        y_0 = height.applyAsDouble(hour);
+                        y_plus = y_lead;
+                    } else {
+                        y_plus = height.applyAsDouble(hour + 1.0);
+                        y_0 = height.applyAsDouble(hour);
+                        y_minus = y_lead;
+                    }
+                    continue;
+                }
+
                 hour += hourStep;
                 if (hourStep > 0) {
                     y_minus = y_0;
                     y_0 = y_plus;
-                    y_plus = correctedMoonHeight(jd.atHour(hour + 1.0));
+                    y_plus = height.applyAsDouble(hour + 1.0);
                 } else {
                     y_plus = y_0;
                     y_0 = y_minus;
-                    y_minus = correctedMoonHeight(jd.atHour(hour - 1.0));
+                    y_minus = height.applyAsDouble(hour - 1.0);
                 }
             }
 
@@ -176,13 +303,12 @@ public final class MoonTimes {
         }
 
         /**
-         * Computes the moon height at the given date and position.
+         * Computes the moon height at the given horizontal position.
          *
-         * @param jd {@link JulianDate} to use
+         * @param pos Horizontal position of the moon
          * @return height, in radians
          */
-        private double correctedMoonHeight(JulianDate jd) {
-            Vector pos = Moon.positionHorizontal(jd, getLatitudeRad(), getLongitudeRad());
+        private double correctedMoonHeight(Vector pos) {
             double hc = parallax(getElevation(), pos.getR())
                             - refraction
                             - Moon.angularRadius(pos.getR());
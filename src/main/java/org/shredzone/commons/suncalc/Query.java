@@ -0,0 +1,96 @@
+/*
+ * Shredzone Commons - suncalc
+ *
+ * Copyright (C) 2026 Richard "Shred" Körber
+ *   http://commons.shredzone.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ */
+package org.shredzone.commons.suncalc;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * An immutable query, containing a complete set of parameters of a computation.
+ * <p>
+ * A query is created by the {@code query()} method of the parameters, e.g.
+ * {@link SunTimes.Parameters#query()}. Later changes to the parameters do not affect
+ * the query. It can be executed any number of times, and can be shared between
+ * threads without copying.
+ * <p>
+ * Queries are equal if they are of the same computation, and all of their parameters
+ * are equal. For this reason, they can be used as keys of caches, or for detecting
+ * identical requests.
+ * <p>
+ * This class is threadsafe.
+ *
+ * @param <T>
+ *            Type of the result
+ * @since 3.12
+ */
+public final class Query<T> {
+
+    private final Class<T> type;
+    private final Supplier<T> executor;
+    private final List<Object> parameters;
+
+    /**
+     * Creates a new {@link Query}.
+     *
+     * @param type
+     *            Type of the result
+     * @param executor
+     *            Executes the query. It must not be changed afterwards.
+     * @param parameters
+     *            All parameters of the query
+     */
+    Query(Class<T> type, Supplier<T> executor, Object... parameters) {
+        this.type = Objects.requireNonNull(type, "type");
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.parameters = Arrays.asList(parameters);
+    }
+
+    /**
+     * Returns the type of the result.
+     */
+    public Class<T> getType() {
+        return type;
+    }
+
+    /**
+     * Executes the query.
+     *
+     * @return Result of the computation
+     */
+    public T execute() {
+        return executor.get();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof Query)) {
+            return false;
+        }
+        Query<?> other = (Query<?>) obj;
+        return type == other.type && parameters.equals(other.parameters);
+    }
+
+    @Override
+    public int hashCode() {
+        return type.hashCode() * 31 + parameters.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "Query[" + type.getSimpleName() + ", parameters=" + parameters + ']';
+    }
+
+}
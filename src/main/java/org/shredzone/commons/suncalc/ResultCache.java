@@ -0,0 +1,186 @@
+/*
+ * Shredzone Commons - suncalc
+ *
+ * Copyright (C) 2026 Richard "Shred" Körber
+ *   http://commons.shredzone.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ */
+package org.shredzone.commons.suncalc;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.round;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded cache of {@link SunTimes} and {@link MoonTimes} results.
+ * <p>
+ * If a cache is set via {@link SunTimes.Parameters#cache(ResultCache)} or
+ * {@link MoonTimes.Parameters#cache(ResultCache)}, the result is taken from the cache
+ * if the same query has been computed before. For this purpose, the location is
+ * quantized to a grid of the given resolution. All queries within the same grid cell
+ * share the same result, which is computed for the snapped location. With the default
+ * resolution of 0.01°, the rise and set times deviate from the exact location by a few
+ * seconds.
+ * <p>
+ * The cache key also contains the start time and time zone, the time window, the
+ * twilight, and the ephemeris. Queries that start at midnight of the same day (e.g.
+ * using {@code on(LocalDate)} or {@code midnight()}) share a result.
+ * <p>
+ * If the cache is full, the least recently used result is removed. This class is
+ * threadsafe, and can be shared by any number of builders.
+ *
+ * @since 3.12
+ */
+public class ResultCache {
+
+    /**
+     * Default resolution of the location, in degrees. It is about 1 km.
+     */
+    public static final double DEFAULT_RESOLUTION = 0.01;
+
+    /**
+     * Default resolution of the elevation, in meters.
+     */
+    public static final double DEFAULT_ELEVATION_RESOLUTION = 10.0;
+
+    private final double resolution;
+    private final double elevationResolution;
+    private final Map<Query<?>, Object> cache;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates a new {@link ResultCache} with the default resolution.
+     *
+     * @param maxSize
+     *            Maximum number of results to be kept
+     */
+    public ResultCache(int maxSize) {
+        this(maxSize, DEFAULT_RESOLUTION, DEFAULT_ELEVATION_RESOLUTION);
+    }
+
+    /**
+     * Creates a new {@link ResultCache}.
+     *
+     * @param maxSize
+     *            Maximum number of results to be kept
+     * @param resolution
+     *            Resolution of latitude and longitude, in degrees
+     * @param elevationResolution
+     *            Resolution of the elevation, in meters
+     */
+    public ResultCache(int maxSize, double resolution, double elevationResolution) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        if (!(resolution > 0.0)) {
+            throw new IllegalArgumentException("resolution must be positive");
+        }
+        if (!(elevationResolution > 0.0)) {
+            throw new IllegalArgumentException("elevationResolution must be positive");
+        }
+
+        this.resolution = resolution;
+        this.elevationResolution = elevationResolution;
+        this.cache = new LinkedHashMap<Query<?>, Object>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Query<?>, Object> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the number of queries that were answered from the cache.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of queries that needed to be computed.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the number of results that are currently in the cache.
+     */
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Removes all results from the cache. The hit and miss counters are not reset.
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Snaps a latitude to the grid.
+     */
+    double snapLatitude(double lat) {
+        return max(-90.0, min(90.0, round(lat / resolution) * resolution));
+    }
+
+    /**
+     * Snaps a longitude to the grid.
+     */
+    double snapLongitude(double lng) {
+        return max(-180.0, min(180.0, round(lng / resolution) * resolution));
+    }
+
+    /**
+     * Snaps an elevation to the grid.
+     */
+    double snapElevation(double elevation) {
+        return round(elevation / elevationResolution) * elevationResolution;
+    }
+
+    /**
+     * Returns the cached result of the given {@link Query}. If there is no such result,
+     * the query is executed and the result is stored in the cache.
+     * <p>
+     * The execution is not locked, so concurrent identical queries may be executed
+     * more than once.
+     *
+     * @param query
+     *            {@link Query} to be executed
+     * @return Result
+     */
+    <R> R get(Query<R> query) {
+        synchronized (cache) {
+            Object result = cache.get(query);
+            if (result != null) {
+                hits.incrementAndGet();
+                return query.getType().cast(result);
+            }
+        }
+
+        misses.incrementAndGet();
+        R result = query.execute();
+        synchronized (cache) {
+            cache.put(query, result);
+        }
+        return result;
+    }
+
+}
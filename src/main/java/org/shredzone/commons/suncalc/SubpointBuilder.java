@@ -0,0 +1,168 @@
+/*
+ * Shredzone Commons - suncalc
+ *
+ * Copyright (C) 2026 Richard "Shred" Körber
+ *   http://commons.shredzone.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ */
+package org.shredzone.commons.suncalc;
+
+import static java.lang.Math.toDegrees;
+import static org.shredzone.commons.suncalc.util.ExtendedMath.normalizeLongitude;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.BiFunction;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import org.shredzone.commons.suncalc.util.BaseBuilder;
+import org.shredzone.commons.suncalc.util.Ephemeris;
+import org.shredzone.commons.suncalc.util.JulianDate;
+import org.shredzone.commons.suncalc.util.Vector;
+
+/**
+ * Base of the builders of {@link SubsolarPoint} and {@link SublunarPoint}. Computes the
+ * point on the earth's surface where a celestial body is in the zenith.
+ * <p>
+ * The latitude of that point is the declination of the body, and the longitude is given
+ * by the right ascension of the body and the Greenwich sidereal time.
+ *
+ * @param <T>
+ *            Type of the parameters
+ * @param <R>
+ *            Type of the result
+ * @since 3.12
+ */
+abstract class SubpointBuilder<T, R> extends BaseBuilder<T> {
+
+    private final Class<R> type;
+    private final BiFunction<JulianDate, Ephemeris, Vector> position;
+    private final Subpoint<R> subpoint;
+
+    /**
+     * Creates a new {@link SubpointBuilder}.
+     *
+     * @param type
+     *            Type of the result
+     * @param position
+     *            Computes the geocentric equatorial position of the celestial body
+     * @param subpoint
+     *            Creates the result
+     */
+    protected SubpointBuilder(Class<R> type, BiFunction<JulianDate, Ephemeris, Vector> position,
+            Subpoint<R> subpoint) {
+        this.type = type;
+        this.position = position;
+        this.subpoint = subpoint;
+    }
+
+    /**
+     * Creates an immutable {@link Query} of the current parameters.
+     *
+     * @return {@link Query} of the result
+     */
+    @SuppressWarnings("unchecked")
+    public Query<R> query() {
+        SubpointBuilder<T, R> snapshot = (SubpointBuilder<T, R>) copy();
+        return new Query<>(type, snapshot::execute, getDateTime(), getEphemeris());
+    }
+
+    /**
+     * Computes the point where the celestial body is in the zenith.
+     *
+     * @return Result
+     */
+    public R execute() {
+        JulianDate t = getJulianDate();
+        Vector mc = position.apply(t, getEphemeris());
+        return subpoint.create(mc.getTheta(), longitude(t, mc), mc.getR());
+    }
+
+    /**
+     * Computes a time series, and stores the results in the given arrays.
+     *
+     * @param step
+     *            Time between two samples
+     * @param count
+     *            Number of samples to compute
+     * @param latitude
+     *            Receives the latitude, in degrees. {@code null} if not needed.
+     * @param longitude
+     *            Receives the longitude, in degrees. {@code null} if not needed.
+     * @param distance
+     *            Receives the distance, in kilometers. {@code null} if not needed.
+     */
+    public void executeSeries(Duration step, int count,
+            @Nullable double[] latitude, @Nullable double[] longitude,
+            @Nullable double[] distance) {
+        Objects.requireNonNull(step, "step");
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative");
+        }
+        checkArray(latitude, count, "latitude");
+        checkArray(longitude, count, "longitude");
+        checkArray(distance, count, "distance");
+
+        Ephemeris ephemeris = getEphemeris();
+        JulianDate t = getJulianDate();
+
+        for (int ix = 0; ix < count; ix++) {
+            Vector mc = position.apply(t, ephemeris);
+
+            if (latitude != null) {
+                latitude[ix] = toDegrees(mc.getTheta());
+            }
+            if (longitude != null) {
+                longitude[ix] = toDegrees(longitude(t, mc));
+            }
+            if (distance != null) {
+                distance[ix] = mc.getR();
+            }
+
+            t = t.plus(step);
+        }
+    }
+
+    /**
+     * Returns the longitude where the celestial body culminates.
+     *
+     * @param t
+     *            {@link JulianDate} to be used
+     * @param mc
+     *            Geocentric equatorial position of the body
+     * @return Longitude, in radians
+     */
+    private static double longitude(JulianDate t, Vector mc) {
+        return normalizeLongitude(mc.getPhi() - t.getGreenwichMeanSiderealTime());
+    }
+
+    /**
+     * Creates the result of a {@link SubpointBuilder}.
+     *
+     * @param <R>
+     *            Type of the result
+     */
+    @FunctionalInterface
+    interface Subpoint<R> {
+
+        /**
+         * Creates the result.
+         *
+         * @param latitude
+         *            Latitude, in radians
+         * @param longitude
+         *            Longitude, in radians
+         * @param distance
+         *            Distance of the celestial body, in kilometers
+         * @return Result
+         */
+        R create(double latitude, double longitude, double distance);
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Shredzone Commons - suncalc
+ *
+ * Copyright (C) 2026 Richard "Shred" Körber
+ *   http://commons.shredzone.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ */
+package org.shredzone.commons.suncalc;
+
+import static java.lang.Math.toDegrees;
+
+import java.time.Duration;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import org.shredzone.commons.suncalc.param.Builder;
+import org.shredzone.commons.suncalc.param.EphemerisParameter;
+import org.shredzone.commons.suncalc.param.GenericParameter;
+import org.shredzone.commons.suncalc.param.TimeParameter;
+import org.shredzone.commons.suncalc.util.Sun;
+
+/**
+ * Calculates the subsolar point, which is the point on the earth's surface where the
+ * sun is in the zenith.
+ * <p>
+ * The latitude of the subsolar point is the declination of the sun, and the longitude
+ * is given by the right ascension of the sun and the Greenwich sidereal time.
+ *
+ * @since 3.12
+ */
+public final class SubsolarPoint {
+
+    private final double latitude;
+    private final double longitude;
+    private final double distance;
+
+    private SubsolarPoint(double latitude, double longitude, double distance) {
+        this.latitude = toDegrees(latitude);
+        this.longitude = toDegrees(longitude);
+        this.distance = distance;
+    }
+
+    /**
+     * Starts the computation of {@link SubsolarPoint}.
+     *
+     * @return {@link Parameters} to set.
+     */
+    public static Parameters compute() {
+        return new SubsolarPointBuilder();
+    }
+
+    /**
+     * Collects all parameters for {@link SubsolarPoint}.
+     */
+    public interface Parameters extends
+            GenericParameter<Parameters>,
+            TimeParameter<Parameters>,
+            EphemerisParameter<Parameters>,
+            Builder<SubsolarPoint> {
+
+        /**
+         * Computes a time series of subsolar points, and stores the results in the
+         * given arrays.
+         * <p>
+         * The series starts at the time that has been set, and then proceeds in the
+         * given step width. No {@link SubsolarPoint} objects are created. The results
+         * are identical to the ones of {@link #execute()}.
+         *
+         * @param step
+         *            Time between two samples. May be negative for a series that goes
+         *            back in time.
+         * @param count
+         *            Number of samples to compute
+         * @param latitude
+         *            Receives the latitude, see {@link SubsolarPoint#getLatitude()}.
+         *            {@code null} if not needed.
+         * @param longitude
+         *            Receives the longitude, see {@link SubsolarPoint#getLongitude()}.
+         *            {@code null} if not needed.
+         * @param distance
+         *            Receives the sun distance, see {@link SubsolarPoint#getDistance()}.
+         *            {@code null} if not needed.
+         * @throws IllegalArgumentException
+         *             if an array is smaller than {@code count}
+         */
+        void executeSeries(Duration step, int count,
+                @Nullable double[] latitude, @Nullable double[] longitude,
+                @Nullable double[] distance);
+
+        /**
+         * Creates an immutable {@link Query} of the current parameters. It can be
+         * executed any number of times, can be shared between threads, and can be used
+         * as a cache key.
+         *
+         * @return {@link Query} of {@link SubsolarPoint}
+         */
+        Query<SubsolarPoint> query();
+    }
+
+    /**
+     * Builder for {@link SubsolarPoint}. Performs the computations based on the
+     * parameters, and creates a {@link SubsolarPoint} object that holds the result.
+     */
+    private static class SubsolarPointBuilder extends SubpointBuilder<Parameters, SubsolarPoint>
+            implements Parameters {
+        public SubsolarPointBuilder() {
+            super(SubsolarPoint.class, Sun::position, SubsolarPoint::new);
+        }
+    }
+
+    /**
+     * Latitude of the subsolar point, in degrees. It is equal to the declination of the
+     * sun, and is always between the tropics.
+     */
+    public double getLatitude() {
+        return latitude;
+    }
+
+    /**
+     * Longitude of the subsolar point, in degrees. Positive values are east of the
+     * prime meridian, negative values are west of it.
+     */
+    public double getLongitude() {
+        return longitude;
+    }
+
+    /**
+     * Sun's distance from the center of the earth, in kilometers.
+     */
+    public double getDistance() {
+        return distance;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("SubsolarPoint[latitude=").append(latitude);
+        sb.append("°, longitude=").append(longitude);
+        sb.append("°, distance=").append(distance).append(" km]");
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Shredzone Commons - suncalc
+ *
+ * Copyright (C) 2026 Richard "Shred" Körber
+ *   http://commons.shredzone.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ */
+package org.shredzone.commons.suncalc;
+
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+/**
+ * An event of the sun, like sunrise or sunset.
+ *
+ * @see SunTimes.Parameters#executeEvents()
+ * @since 3.12
+ */
+public class SunEvent {
+
+    private final Type type;
+    private final ZonedDateTime time;
+
+    /**
+     * Creates a new {@link SunEvent}.
+     *
+     * @param type
+     *            {@link Type} of the event
+     * @param time
+     *            Time of the event
+     */
+    public SunEvent(Type type, ZonedDateTime time) {
+        this.type = Objects.requireNonNull(type, "type");
+        this.time = Objects.requireNonNull(time, "time");
+    }
+
+    /**
+     * Type of the event.
+     */
+    public enum Type {
+
+        /**
+         * Sunrise, see {@link SunTimes#getRise()}.
+         */
+        RISE,
+
+        /**
+         * Sunset, see {@link SunTimes#getSet()}.
+         */
+        SET,
+
+        /**
+         * The sun reaches its highest point, see {@link SunTimes#getNoon()}.
+         */
+        NOON,
+
+        /**
+         * The sun reaches its lowest point, see {@link SunTimes#getNadir()}.
+         */
+        NADIR;
+    }
+
+    /**
+     * {@link Type} of the event.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Time of the event.
+     */
+    public ZonedDateTime getTime() {
+        return time;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof SunEvent)) {
+            return false;
+        }
+        SunEvent other = (SunEvent) obj;
+        return type == other.type && time.equals(other.time);
+    }
+
+    @Override
+    public int hashCode() {
+        return type.hashCode() ^ time.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "SunEvent[type=" + type + ", time=" + time + ']';
+    }
+
+}
@@ -14,14 +14,25 @@
 package org.shredzone.commons.suncalc;
 
 import static java.lang.Math.toDegrees;
+import static java.lang.Math.toRadians;
+import static org.shredzone.commons.suncalc.util.ExtendedMath.equatorialToHorizontal;
 import static org.shredzone.commons.suncalc.util.ExtendedMath.refraction;
 
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
 import org.shredzone.commons.suncalc.param.Builder;
+import org.shredzone.commons.suncalc.param.EphemerisParameter;
 import org.shredzone.commons.suncalc.param.GenericParameter;
 import org.shredzone.commons.suncalc.param.LocationParameter;
 import org.shredzone.commons.suncalc.param.TimeParameter;
 import org.shredzone.commons.suncalc.util.BaseBuilder;
+import org.shredzone.commons.suncalc.util.Ephemeris;
 import org.shredzone.commons.suncalc.util.JulianDate;
+import org.shredzone.commons.suncalc.util.ParallelExecution;
+import org.shredzone.commons.suncalc.util.ParallelExecution.Range;
 import org.shredzone.commons.suncalc.util.Sun;
 import org.shredzone.commons.suncalc.util.Vector;
 
@@ -58,7 +69,127 @@ public class SunPosition {
             GenericParameter<Parameters>,
             LocationParameter<Parameters>,
             TimeParameter<Parameters>,
+            EphemerisParameter<Parameters>,
             Builder<SunPosition> {
+
+        /**
+         * Computes a time series of sun positions, and stores the results in the given
+         * arrays.
+         * <p>
+         * The series starts at the time that has been set, and then proceeds in the
+         * given step width. No {@link SunPosition} objects are created. The results are
+         * identical to the ones of {@link #execute()}.
+         *
+         * @param step
+         *            Time between two samples. May be negative for a series that goes
+         *            back in time.
+         * @param count
+         *            Number of samples to compute
+         * @param azimuth
+         *            Receives the sun azimuth, see {@link SunPosition#getAzimuth()}.
+         *            {@code null} if not needed.
+         * @param altitude
+         *            Receives the sun altitude, see {@link SunPosition#getAltitude()}.
+         *            {@code null} if not needed.
+         * @param trueAltitude
+         *            Receives the true sun altitude, see
+         *            {@link SunPosition#getTrueAltitude()}. {@code null} if not needed.
+         * @param distance
+         *            Receives the sun distance, see {@link SunPosition#getDistance()}.
+         *            {@code null} if not needed.
+         * @throws IllegalArgumentException
+         *             if an array is smaller than {@code count}
+         * @since 3.12
+         */
+        void executeSeries(Duration step, int count,
+                @Nullable double[] azimuth, @Nullable double[] altitude,
+                @Nullable double[] trueAltitude, @Nullable double[] distance);
+
+        /**
+         * Computes the sun positions at many locations for the time that has been set,
+         * and stores the results in the given arrays.
+         * <p>
+         * The geocentric sun position and the sidereal time are only computed once, so
+         * this is much faster than computing each location separately. No
+         * {@link SunPosition} objects are created. A location that has been set is
+         * ignored. The results are identical to the ones of {@link #execute()}.
+         *
+         * @param latitude
+         *            Latitudes of the locations, in degrees
+         * @param longitude
+         *            Longitudes of the locations, in degrees. Must have the same length
+         *            as {@code latitude}.
+         * @param azimuth
+         *            Receives the sun azimuth, see {@link SunPosition#getAzimuth()}.
+         *            {@code null} if not needed.
+         * @param altitude
+         *            Receives the sun altitude, see {@link SunPosition#getAltitude()}.
+         *            {@code null} if not needed.
+         * @param trueAltitude
+         *            Receives the true sun altitude, see
+         *            {@link SunPosition#getTrueAltitude()}. {@code null} if not needed.
+         * @param distance
+         *            Receives the sun distance, see {@link SunPosition#getDistance()}.
+         *            {@code null} if not needed.
+         * @throws IllegalArgumentException
+         *             if a location is invalid, or an array is smaller than the number
+         *             of locations
+         * @since 3.12
+         */
+        void executeLocations(double[] latitude, double[] longitude,
+                @Nullable double[] azimuth, @Nullable double[] altitude,
+                @Nullable double[] trueAltitude, @Nullable double[] distance);
+
+        /**
+         * Computes the sun positions at many locations for the time that has been set,
+         * and stores the results in the given arrays. The locations are split into
+         * chunks that are computed in parallel by the given {@link Executor}.
+         * <p>
+         * The method returns when all locations have been computed. The results are
+         * identical to the ones of
+         * {@link #executeLocations(double[], double[], double[], double[], double[], double[])},
+         * and do not depend on the order of execution.
+         *
+         * @param executor
+         *            {@link Executor} that computes the chunks, e.g.
+         *            {@link java.util.concurrent.ForkJoinPool#commonPool()}
+         * @param latitude
+         *            Latitudes of the locations, in degrees
+         * @param longitude
+         *            Longitudes of the locations, in degrees. Must have the same length
+         *            as {@code latitude}.
+         * @param azimuth
+         *            Receives the sun azimuth, see {@link SunPosition#getAzimuth()}.
+         *            {@code null} if not needed.
+         * @param altitude
+         *            Receives the sun altitude, see {@link SunPosition#getAltitude()}.
+         *            {@code null} if not needed.
+         * @param trueAltitude
+         *            Receives the true sun altitude, see
+         *            {@link SunPosition#getTrueAltitude()}. {@code null} if not needed.
+         * @param distance
+         *            Receives the sun distance, see {@link SunPosition#getDistance()}.
+         *            {@code null} if not needed.
+         * @throws IllegalArgumentException
+         *             if a location is invalid, or an array is smaller than the number
+         *             of locations
+         * @since 3.12
+         */
+        void executeLocations(Executor executor, double[] latitude, double[] longitude,
+                @Nullable double[] azimuth, @Nullable double[] altitude,
+                @Nullable double[] trueAltitude, @Nullable double[] distance);
+
+        /**
+         * Creates an immutable {@link Query} of the current parameters. It can be
+         * executed any number of times, can be shared between threads, and can be used
+         * as a cache key.
+         *
+         * @return {@link Query} of {@link SunPosition}
+         * @throws IllegalArgumentException
+         *             if the geolocation is missing
+         * @since 3.12
+         */
+        Query<SunPosition> query();
     }
 
     /**
@@ -66,6 +197,18 @@ public class SunPosition {
      * and creates a {@link SunPosition} object that holds the result.
      */
     private static class SunPositionBuilder extends BaseBuilder<Parameters> implements Parameters {
+        @Override
+        public Query<SunPosition> query() {
+            if (!hasLocation()) {
+                throw new IllegalArgumentException("Geolocation is missing.");
+            }
+
+            SunPositionBuilder snapshot = (SunPositionBuilder) copy();
+            return new Query<>(SunPosition.class, snapshot::execute,
+                    getLatitude(), getLongitude(), getElevation(),
+                    getDateTime(), getEphemeris());
+        }
+
         @Override
         public SunPosition execute() {
             if (!hasLocation()) {
@@ -74,7 +217,8 @@ public class SunPosition {
 
             JulianDate t = getJulianDate();
 
-            Vector horizontal = Sun.positionHorizontal(t, getLatitudeRad(), getLongitudeRad());
+            Vector horizontal = Sun.positionHorizontal(t, getLatitudeRad(), getLongitudeRad(),
+                    getEphemeris());
             double hRef = refraction(horizontal.getTheta());
 
             return new SunPosition(horizontal.getPhi(),
@@ -82,6 +226,106 @@ public class SunPosition {
                             horizontal.getTheta(),
                             horizontal.getR());
         }
+
+        @Override
+        public void executeSeries(Duration step, int count,
+                @Nullable double[] azimuth, @Nullable double[] altitude,
+                @Nullable double[] trueAltitude, @Nullable double[] distance) {
+            if (!hasLocation()) {
+                throw new IllegalArgumentException("Geolocation is missing.");
+            }
+            Objects.requireNonNull(step, "step");
+            if (count < 0) {
+                throw new IllegalArgumentException("count must not be negative");
+            }
+            checkArray(azimuth, count, "azimuth");
+            checkArray(altitude, count, "altitude");
+            checkArray(trueAltitude, count, "trueAltitude");
+            checkArray(distance, count, "distance");
+
+            double lat = getLatitudeRad();
+            double lng = getLongitudeRad();
+            Ephemeris ephemeris = getEphemeris();
+            JulianDate t = getJulianDate();
+
+            for (int ix = 0; ix < count; ix++) {
+                Vector horizontal = Sun.positionHorizontal(t, lat, lng, ephemeris);
+                double theta = horizontal.getTheta();
+
+                if (azimuth != null) {
+                    azimuth[ix] = (toDegrees(horizontal.getPhi()) + 180.0) % 360.0;
+                }
+                if (altitude != null) {
+                    altitude[ix] = toDegrees(theta + refraction(theta));
+                }
+                if (trueAltitude != null) {
+                    trueAltitude[ix] = toDegrees(theta);
+                }
+                if (distance != null) {
+                    distance[ix] = horizontal.getR();
+                }
+
+                t = t.plus(step);
+            }
+        }
+
+        @Override
+        public void executeLocations(double[] latitude, double[] longitude,
+                @Nullable double[] azimuth, @Nullable double[] altitude,
+                @Nullable double[] trueAltitude, @Nullable double[] distance) {
+            locations(null, latitude, longitude, azimuth, altitude, trueAltitude, distance);
+        }
+
+        @Override
+        public void executeLocations(Executor executor, double[] latitude, double[] longitude,
+                @Nullable double[] azimuth, @Nullable double[] altitude,
+                @Nullable double[] trueAltitude, @Nullable double[] distance) {
+            Objects.requireNonNull(executor, "executor");
+            locations(executor, latitude, longitude, azimuth, altitude, trueAltitude, distance);
+        }
+
+        private void locations(@Nullable Executor executor, double[] latitude, double[] longitude,
+                @Nullable double[] azimuth, @Nullable double[] altitude,
+                @Nullable double[] trueAltitude, @Nullable double[] distance) {
+            checkLocations(latitude, longitude);
+            int count = latitude.length;
+            checkArray(azimuth, count, "azimuth");
+            checkArray(altitude, count, "altitude");
+            checkArray(trueAltitude, count, "trueAltitude");
+            checkArray(distance, count, "distance");
+
+            JulianDate t = getJulianDate();
+            Vector mc = Sun.position(t, getEphemeris());
+            double gmst = t.getGreenwichMeanSiderealTime();
+
+            Range task = (from, to) -> {
+                for (int ix = from; ix < to; ix++) {
+                    double h = gmst + toRadians(longitude[ix]) - mc.getPhi();
+                    Vector horizontal = equatorialToHorizontal(h, mc.getTheta(), mc.getR(),
+                            toRadians(latitude[ix]));
+                    double theta = horizontal.getTheta();
+
+                    if (azimuth != null) {
+                        azimuth[ix] = (toDegrees(horizontal.getPhi()) + 180.0) % 360.0;
+                    }
+                    if (altitude != null) {
+                        altitude[ix] = toDegrees(theta + refraction(theta));
+                    }
+                    if (trueAltitude != null) {
+                        trueAltitude[ix] = toDegrees(theta);
+                    }
+                    if (distance != null) {
+                        distance[ix] = horizontal.getR();
+                    }
+                }
+            };
+
+            if (executor != null) {
+                ParallelExecution.execute(executor, count, task);
+            } else {
+                task.compute(0, count);
+            }
+        }
     }
 
     /**
@@ -18,15 +18,32 @@ import static org.shredzone.commons.suncalc.util.ExtendedMath.*;
 
 import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import edu.umd.cs.findbugs.annotations.Nullable;
 import org.shredzone.commons.suncalc.param.Builder;
+import org.shredzone.commons.suncalc.param.EphemerisParameter;
 import org.shredzone.commons.suncalc.param.GenericParameter;
 import org.shredzone.commons.suncalc.param.LocationParameter;
 import org.shredzone.commons.suncalc.param.TimeParameter;
 import org.shredzone.commons.suncalc.param.WindowParameter;
 import org.shredzone.commons.suncalc.util.BaseBuilder;
+import org.shredzone.commons.suncalc.util.Ephemeris;
 import org.shredzone.commons.suncalc.util.JulianDate;
+import org.shredzone.commons.suncalc.util.Matrix;
 import org.shredzone.commons.suncalc.util.QuadraticInterpolation;
 import org.shredzone.commons.suncalc.util.Sun;
 import org.shredzone.commons.suncalc.util.Vector;
@@ -63,6 +80,21 @@ public class SunTimes {
         return new SunTimesBuilder();
     }
 
+    /**
+     * Computes the {@link SunTimes} from the given sun positions, so the positions
+     * can be shared with other computations. The {@link ResultCache} is not used.
+     *
+     * @param parameters
+     *            {@link Parameters} created by {@link #compute()}
+     * @param sun
+     *            Function returning the horizontal sun position at the given hour,
+     *            relative to the start time
+     * @return {@link SunTimes}
+     */
+    static SunTimes compute(Parameters parameters, DoubleFunction<Vector> sun) {
+        return ((SunTimesBuilder) parameters).compute(sun);
+    }
+
     /**
      * Collects all parameters for {@link SunTimes}.
      */
@@ -71,6 +103,7 @@ public class SunTimes {
             LocationParameter<Parameters>,
             TimeParameter<Parameters>,
             WindowParameter<Parameters>,
+            EphemerisParameter<Parameters>,
             Builder<SunTimes> {
 
         /**
@@ -93,6 +126,152 @@ public class SunTimes {
          * @return itself
          */
         Parameters twilight(double angle);
+
+        /**
+         * Computes all sun events within the time window, and returns them as a stream.
+         * <p>
+         * Rises, sets, noons and nadirs are computed lazily while the stream is
+         * consumed, and are returned in chronological order (or in reverse
+         * chronological order if {@link #reverse()} was set). The sun positions of the
+         * time window are only computed once, so this is faster than computing
+         * {@link SunTimes} for every day of a longer period. Use {@link #limit(Duration)}
+         * to set the time window.
+         * <p>
+         * The parameters are evaluated when this method is invoked. Later changes to
+         * the parameters do not affect the returned stream.
+         *
+         * @return {@link Stream} of {@link SunEvent}
+         * @since 3.12
+         */
+        Stream<SunEvent> executeEvents();
+
+        /**
+         * Computes the {@link SunTimes} of several {@link Twilight} modes at once.
+         * <p>
+         * The sun positions are computed only once, and are shared by all twilight
+         * modes. This is considerably faster than computing each twilight mode
+         * separately. The results are the same. The twilight mode set by
+         * {@link #twilight(Twilight)} is ignored, and a {@link ResultCache} is not used.
+         *
+         * @param twilights
+         *            {@link Twilight} modes to compute. If none is given, all
+         *            {@link Twilight} modes are computed.
+         * @return {@link Map} of the {@link Twilight} modes and their {@link SunTimes}
+         * @since 3.12
+         */
+        Map<Twilight, SunTimes> executeTwilights(Twilight... twilights);
+
+        /**
+         * Computes the {@link SunTimes} of several elevation angles at once.
+         * <p>
+         * The sun positions are computed only once, and are shared by all angles. This
+         * is considerably faster than computing each angle separately. The results are
+         * the same. The twilight mode set by {@link #twilight(Twilight)} is ignored, and
+         * a {@link ResultCache} is not used.
+         *
+         * @param angles
+         *            Geocentric elevation angles, in degrees.
+         * @return {@link List} of {@link SunTimes}, in the order of the given angles
+         * @see #twilight(double)
+         * @since 3.12
+         */
+        List<SunTimes> executeAngles(double... angles);
+
+        /**
+         * Computes the rise and set times and the day length on a grid of locations,
+         * and stores the results in the given arrays.
+         * <p>
+         * The bounding box is divided into {@code rows} by {@code columns} cells of
+         * equal size, and each cell is computed at its center. The results are stored
+         * row by row, starting at the north-west corner, so the cell in row {@code r}
+         * and column {@code c} is found at index {@code r * columns + c}. No
+         * {@link SunTimes} objects are created. A location that has been set is
+         * ignored, while the elevation, the twilight mode and the time window are
+         * used for all cells.
+         * <p>
+         * The geocentric sun position is only computed once per hour of the time
+         * window, and is shared by all cells. The times are computed analytically, see
+         * {@link #analytic()}, and the result of the neighbor cell is used as initial
+         * guess, so usually a single iteration is sufficient. This is much faster than
+         * computing each cell separately.
+         *
+         * @param north
+         *            Northern border of the grid, in degrees
+         * @param west
+         *            Western border of the grid, in degrees, from -180.0 (inclusive) to
+         *            180.0 (exclusive)
+         * @param south
+         *            Southern border of the grid, in degrees
+         * @param east
+         *            Eastern border of the grid, in degrees. It may exceed 180.0 if the
+         *            grid crosses the antimeridian.
+         * @param rows
+         *            Number of rows
+         * @param columns
+         *            Number of columns
+         * @param rise
+         *            Receives the rise time, in hours relative to the start time, or
+         *            {@link Double#NaN} if the sun does not rise within the time
+         *            window. {@code null} if not needed.
+         * @param set
+         *            Receives the set time, in hours relative to the start time, or
+         *            {@link Double#NaN} if the sun does not set within the time
+         *            window. {@code null} if not needed.
+         * @param dayLength
+         *            Receives the hours the sun is above the twilight angle within 24
+         *            hours from the start time, or within the time window if it is
+         *            shorter. {@code null} if not needed.
+         * @throws IllegalArgumentException
+         *             if the bounding box or the grid size is invalid, or an array is
+         *             smaller than the number of cells
+         * @since 3.12
+         */
+        void executeGrid(double north, double west, double south, double east,
+                int rows, int columns,
+                @Nullable double[] rise, @Nullable double[] set, @Nullable double[] dayLength);
+
+        /**
+         * Computes the times analytically if possible.
+         * <p>
+         * By default, the sun height is scanned hour by hour, and the times are
+         * interpolated. In this mode, the times are estimated from the hour angle
+         * instead, and then refined by Newton iterations on the sun height. This needs
+         * considerably fewer computations of the sun position, and the results are the
+         * exact times of the sun crossing the twilight angle. They may deviate from
+         * the interpolated times by up to 30 seconds.
+         * <p>
+         * The hour angle estimation is only possible if the sun clearly rises and sets
+         * every day. Near the polar circles and beyond, or if the computation does not
+         * converge, the hourly scan is used instead.
+         *
+         * @return itself
+         * @since 3.12
+         */
+        Parameters analytic();
+
+        /**
+         * Uses the given {@link ResultCache}. If the same query has been computed
+         * before, the result is taken from the cache. The location is quantized to the
+         * resolution of the cache, see {@link ResultCache} for details.
+         *
+         * @param cache
+         *            {@link ResultCache} to use, or {@code null} to compute every query
+         * @return itself
+         * @since 3.12
+         */
+        Parameters cache(@Nullable ResultCache cache);
+
+        /**
+         * Creates an immutable {@link Query} of the current parameters. It can be
+         * executed any number of times, can be shared between threads, and can be used
+         * as a cache key.
+         *
+         * @return {@link Query} of {@link SunTimes}
+         * @throws IllegalArgumentException
+         *             if the geolocation is missing
+         * @since 3.12
+         */
+        Query<SunTimes> query();
     }
 
     /**
@@ -211,7 +390,7 @@ public class SunTimes {
          * {@code null} means the angular position is not topocentric.
          */
         @Nullable
-        private Double getAngularPosition() {
+        Double getAngularPosition() {
             return position;
         }
     }
@@ -221,8 +400,19 @@ public class SunTimes {
      * and creates a {@link SunTimes} object that holds the result.
      */
     private static class SunTimesBuilder extends BaseBuilder<Parameters> implements Parameters {
+        private static final double SUN_MOTION_RATE = toRadians(0.05);         // per hour
+        private static final double HOUR_ANGLE_RATE = toRadians(15.0);          // per hour
+        private static final double MAX_HOUR_ANGLE_COS = 0.95;
+        private static final double EXTREMUM_SPACING = 3.0 / 60.0;             // hours
+        private static final double CONVERGENCE = 1.0 / 3600.0;                // hours
+        private static final int MAX_ITERATIONS = 8;
+        private static final int TRACK_MARGIN = 30;                             // hours
+
         private double angle = Twilight.VISUAL.getAngleRad();
         private @Nullable Double position = Twilight.VISUAL.getAngularPosition();
+        private @Nullable ResultCache cache = null;
+        private boolean analytic = false;
+        private boolean extrema = true;
 
         @Override
         public Parameters twilight(Twilight twilight) {
@@ -238,13 +428,364 @@ public class SunTimes {
             return this;
         }
 
+        @Override
+        public Parameters analytic() {
+            this.analytic = true;
+            return this;
+        }
+
+        @Override
+        public Parameters cache(@Nullable ResultCache cache) {
+            this.cache = cache;
+            return this;
+        }
+
+        @Override
+        public Query<SunTimes> query() {
+            if (!hasLocation()) {
+                throw new IllegalArgumentException("Geolocation is missing.");
+            }
+
+            SunTimesBuilder snapshot = (SunTimesBuilder) copy();
+            return new Query<>(SunTimes.class, snapshot::execute,
+                    getLatitude(), getLongitude(), getElevation(),
+                    getDateTime(), getDuration(), getEphemeris(), angle, position, analytic, cache);
+        }
+
         @Override
         public SunTimes execute() {
             if (!hasLocation()) {
                 throw new IllegalArgumentException("Geolocation is missing.");
             }
 
+            ResultCache resultCache = cache;
+            if (resultCache != null) {
+                SunTimesBuilder snapped = (SunTimesBuilder) copy();
+                snapped.cache = null;
+                snapped.at(resultCache.snapLatitude(getLatitude()), resultCache.snapLongitude(getLongitude()));
+                snapped.elevation(resultCache.snapElevation(getElevation()));
+                return resultCache.get(snapped.query());
+            }
+
+            return compute();
+        }
+
+        @Override
+        public Map<Twilight, SunTimes> executeTwilights(Twilight... twilights) {
+            if (!hasLocation()) {
+                throw new IllegalArgumentException("Geolocation is missing.");
+            }
+
+            DoubleFunction<Vector> sun = sharedSunPosition();
+            Map<Twilight, SunTimes> result = new EnumMap<>(Twilight.class);
+            for (Twilight twilight : twilights.length > 0 ? twilights : Twilight.values()) {
+                SunTimesBuilder builder = (SunTimesBuilder) copy();
+                builder.twilight(twilight);
+                result.put(twilight, builder.compute(sun));
+            }
+            return result;
+        }
+
+        @Override
+        public List<SunTimes> executeAngles(double... angles) {
+            if (!hasLocation()) {
+                throw new IllegalArgumentException("Geolocation is missing.");
+            }
+
+            DoubleFunction<Vector> sun = sharedSunPosition();
+            List<SunTimes> result = new ArrayList<>(angles.length);
+            for (double angle : angles) {
+                SunTimesBuilder builder = (SunTimesBuilder) copy();
+                builder.twilight(angle);
+                result.add(builder.compute(sun));
+            }
+            return result;
+        }
+
+        @Override
+        public void executeGrid(double north, double west, double south, double east,
+                int rows, int columns,
+                @Nullable double[] rise, @Nullable double[] set, @Nullable double[] dayLength) {
+            int count = checkGrid(north, west, south, east, rows, columns);
+            checkArray(rise, count, "rise");
+            checkArray(set, count, "set");
+            checkArray(dayLength, count, "dayLength");
+
+            JulianDate jd = getJulianDate();
+            boolean reverse = getDuration().isNegative();
+            double limitHours = getDuration().toMillis() / (60 * 60 * 1000.0);
+            double lowerLimitHours = reverse ? limitHours : 0.0;
+            double upperLimitHours = reverse ? 0.0 : limitHours;
+
+            SunTrack track = new SunTrack(jd, getEphemeris(),
+                    (int) floor(lowerLimitHours) - TRACK_MARGIN,
+                    (int) ceil(upperLimitHours) + TRACK_MARGIN);
+
+            SunTimesBuilder scan = (SunTimesBuilder) copy();
+            scan.analytic = false;
+            scan.extrema = false;
+
+            double latStep = (north - south) / rows;
+            double lngStep = (east - west) / columns;
+
+            // Moving east by one cell, the events occur earlier by the time the earth
+            // needs to rotate by the cell width.
+            double seedShift = -toRadians(lngStep) / HOUR_ANGLE_RATE;
+
+            for (int row = 0; row < rows; row++) {
+                double latDeg = north - (row + 0.5) * latStep;
+                double lat = toRadians(latDeg);
+                double riseSeed = Double.NaN;
+                double setSeed = Double.NaN;
+
+                for (int column = 0; column < columns; column++) {
+                    double lngDeg = west + (column + 0.5) * lngStep;
+                    if (lngDeg >= 180.0) {
+                        lngDeg -= 360.0;
+                    }
+                    double lng = toRadians(lngDeg);
+                    int ix = row * columns + column;
+
+                    DoubleFunction<SunSample> sampler = t -> sample(track, t, lat, lng);
+                    SunSample start = sampler.apply(0.0);
+
+                    Double riseHour = null;
+                    Double setHour = null;
+                    double cosH0 = (sin(start.target) - sin(lat) * sin(start.dec))
+                            / (cos(lat) * cos(start.dec));
+                    if (abs(cosH0) < MAX_HOUR_ANGLE_COS) {
+                        double h0 = acos(cosH0);
+                        double rs = riseSeed;
+                        double ss = setSeed;
+                        riseHour = nextEvent(jd, start, -h0, reverse,
+                                t -> crossing(sampler, abs(rs - t) < 1.0 ? rs : t, true));
+                        setHour = nextEvent(jd, start, h0, reverse,
+                                t -> crossing(sampler, abs(ss - t) < 1.0 ? ss : t, false));
+                    }
+
+                    boolean analyticTimes = riseHour != null && setHour != null;
+                    if (analyticTimes) {
+                        riseSeed = riseHour + seedShift;
+                        setSeed = setHour + seedShift;
+                    } else {
+                        // Fall back to the hourly scan, on the shared sun positions
+                        scan.at(latDeg, lngDeg);
+                        SunTimes result = scan.compute(t -> track.horizontal(t, lat, lng));
+                        riseHour = hoursOf(result.getRise());
+                        setHour = hoursOf(result.getSet());
+                        riseSeed = Double.NaN;
+                        setSeed = Double.NaN;
+                    }
+
+                    double r = riseHour >= lowerLimitHours && riseHour < upperLimitHours ? riseHour : Double.NaN;
+                    double s = setHour >= lowerLimitHours && setHour < upperLimitHours ? setHour : Double.NaN;
+
+                    if (rise != null) {
+                        rise[ix] = r;
+                    }
+                    if (set != null) {
+                        set[ix] = s;
+                    }
+                    if (dayLength != null) {
+                        double length = min(abs(limitHours), 24.0);
+                        double end = reverse ? -length : length;
+                        double daylight = Double.NaN;
+                        if (analyticTimes) {
+                            boolean up = start.height > 0.0;
+                            boolean upAtEnd = sampler.apply(end).height > 0.0;
+                            if (reverse) {
+                                // Going back in time, a set is passed like a rise
+                                daylight = dayLength(up, upAtEnd, -setHour, -riseHour, length,
+                                        t -> negate(crossing(sampler, -t, false)),
+                                        t -> negate(crossing(sampler, -t, true)));
+                            } else {
+                                daylight = dayLength(up, upAtEnd, riseHour, setHour, length,
+                                        t -> crossing(sampler, t, true),
+                                        t -> crossing(sampler, t, false));
+                            }
+                        }
+                        if (Double.isNaN(daylight)) {
+                            daylight = dayLength(jd, end, t -> correctedSunHeight(
+                                    track.horizontal(t, lat, lng), getElevation(), angle, position));
+                        }
+                        dayLength[ix] = daylight;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns the hours between the start time and the given time, or
+         * {@link Double#NaN} if there is no time.
+         */
+        private double hoursOf(@Nullable ZonedDateTime time) {
+            if (time == null) {
+                return Double.NaN;
+            }
+            return Duration.between(getDateTime(), time).toMillis() / (60 * 60 * 1000.0);
+        }
+
+        /**
+         * Returns the hours the sun is above the twilight angle within the given
+         * length of time.
+         * <p>
+         * The times are given in hours from the start time, in the direction of the
+         * time window. Besides the given first rise and set, the time may contain
+         * further crossings, for example if it starts shortly before sunrise. Each of
+         * them is about a day after the previous crossing of the same kind, and is
+         * refined from there. They are only searched for as long as the sun is not in
+         * the state it has at the end of the time.
+         *
+         * @param up {@code true} if the sun is above the twilight angle at the start
+         * @param upAtEnd {@code true} if the sun is above the twilight angle at the end
+         * @param rise Time of the first rise
+         * @param set Time of the first set
+         * @param length Length of time, in hours
+         * @param nextRise Refines the estimated time of a rise, returns {@code null}
+         *            if the refinement failed
+         * @param nextSet Refines the estimated time of a set, returns {@code null} if
+         *            the refinement failed
+         * @return Hours of daylight, or {@link Double#NaN} if a crossing could not be
+         *         found
+         */
+        private static double dayLength(boolean up, boolean upAtEnd, double rise, double set,
+                double length, DoubleFunction<Double> nextRise, DoubleFunction<Double> nextSet) {
+            Daylight daylight = new Daylight(up);
+            boolean rising = rise < set;
+            double previous = Double.NaN;
+            double current = min(rise, set);
+            double following = max(rise, set);
+
+            while (current < length) {
+                daylight.crossing(current, rising);
+
+                if (Double.isNaN(following)) {
+                    if (daylight.isUp() == upAtEnd) {
+                        break;
+                    }
+                    Double next = (rising ? nextSet : nextRise).apply(previous + 24.0);
+                    if (next == null || !(next > current)) {
+                        return Double.NaN;
+                    }
+                    following = next;
+                }
+
+                previous = current;
+                current = following;
+                following = Double.NaN;
+                rising = !rising;
+            }
+
+            return daylight.getHours(length);
+        }
+
+        /**
+         * Returns the hours the sun is above the twilight angle between the start time
+         * and the given end, by scanning all crossings hour by hour.
+         *
+         * @param jd {@link JulianDate} of the start time
+         * @param end End, in hours relative to the start time. It is negative if the
+         *            time window goes back in time.
+         * @param height Corrected sun height at the given hour
+         * @return Hours of daylight
+         */
+        private double dayLength(JulianDate jd, double end, DoubleUnaryOperator height) {
+            boolean reverse = end < 0.0;
+            Daylight daylight = new Daylight(height.applyAsDouble(0.0) > 0.0);
+            SunEventSpliterator events = new SunEventSpliterator(jd, height,
+                    Duration.ofMillis(round(end * 60 * 60 * 1000.0)));
+            while (events.tryAdvance(event -> {
+                if (event.getType() == SunEvent.Type.RISE || event.getType() == SunEvent.Type.SET) {
+                    // Going back in time, a set is passed like a rise
+                    daylight.crossing(abs(hoursOf(event.getTime())),
+                            (event.getType() == SunEvent.Type.RISE) != reverse);
+                }
+            })) {
+                // all events are consumed
+            }
+            return daylight.getHours(abs(end));
+        }
+
+        /**
+         * Returns the negated hours, or {@code null} if there are none.
+         */
+        @Nullable
+        private static Double negate(@Nullable Double hours) {
+            return hours != null ? -hours : null;
+        }
+
+        /**
+         * Computes a {@link SunSample} of a grid cell, using the shared sun positions.
+         *
+         * @param track {@link SunTrack} of the time window
+         * @param hour Hours relative to the start time
+         * @param lat Latitude, in radians
+         * @param lng Longitude, in radians
+         * @return {@link SunSample}
+         */
+        private SunSample sample(SunTrack track, double hour, double lat, double lng) {
+            Vector greenwich = track.greenwich(hour);
+            double hourAngle = greenwich.getPhi() + lng;
+            double dec = greenwich.getTheta();
+            Vector horizontal = equatorialToHorizontal(hourAngle, dec, greenwich.getR(), lat);
+            double height = correctedSunHeight(horizontal, getElevation(), angle, position);
+
+            double rate = -cos(lat) * cos(dec) * sin(hourAngle)
+                    * HOUR_ANGLE_RATE / cos(horizontal.getTheta());
+
+            return new SunSample(hour, height, rate, hourAngle, dec,
+                    horizontal.getTheta() - height);
+        }
+
+        /**
+         * Returns a function that computes the horizontal sun position at the given
+         * hour, relative to the start time.
+         */
+        private DoubleFunction<Vector> sunPosition() {
+            JulianDate jd = getJulianDate();
+            double lat = getLatitudeRad();
+            double lng = getLongitudeRad();
+            Ephemeris ephemeris = getEphemeris();
+            return hour -> Sun.positionHorizontal(jd.atExactHour(hour), lat, lng, ephemeris);
+        }
+
+        /**
+         * Returns a function that computes the horizontal sun position at the given
+         * hour, relative to the start time. Each position is only computed once, so
+         * the function can be shared by computations of different twilight angles.
+         */
+        private DoubleFunction<Vector> sharedSunPosition() {
+            DoubleFunction<Vector> sun = sunPosition();
+            Map<Double, Vector> positions = new HashMap<>();
+            return hour -> positions.computeIfAbsent(hour, sun::apply);
+        }
+
+        /**
+         * Computes the {@link SunTimes}, without using the cache.
+         */
+        private SunTimes compute() {
+            return compute(sunPosition());
+        }
+
+        /**
+         * Computes the {@link SunTimes}, without using the cache.
+         *
+         * @param sun
+         *            Function returning the horizontal sun position at the given hour,
+         *            relative to the start time
+         */
+        private SunTimes compute(DoubleFunction<Vector> sun) {
+            if (analytic) {
+                SunTimes result = computeAnalytic();
+                if (result != null) {
+                    return result;
+                }
+            }
+
             JulianDate jd = getJulianDate();
+            double elevation = getElevation();
+            DoubleUnaryOperator height = hour ->
+                    correctedSunHeight(sun.apply(hour), elevation, angle, position);
 
             Double rise = null;
             Double set = null;
@@ -270,9 +811,12 @@ public class SunTimes {
             int minHours = (int) floor(lowerLimitHours);
             int maxHours = (int) ceil(upperLimitHours);
 
-            double y_minus = correctedSunHeight(jd.atHour(hour - 1.0));
-            double y_0 = correctedSunHeight(jd.atHour(hour));
-            double y_plus = correctedSunHeight(jd.atHour(hour + 1.0));
+            double maxRate = maxHeightRate(getLatitudeRad(), SUN_MOTION_RATE);
+            Matrix toEquatorial = equatorialToHorizontal(getLatitudeRad()).transpose();
+
+            double y_minus = height.applyAsDouble(hour - 1.0);
+            double y_0 = height.applyAsDouble(hour);
+            double y_plus = height.applyAsDouble(hour + 1.0);
 
             if (y_0 > 0.0) {
                 alwaysUp = true;
@@ -330,31 +874,67 @@ public class SunTimes {
                     }
                 }
 
-                if (rise != null && set != null && noon != null && nadir != null) {
+                if (rise != null && set != null && (!extrema || noon != null && nadir != null)) {
                     break;
                 }
 
+                if (!extrema || noon != null && nadir != null) {
+                    // Only rise or set are missing. Skip all hours where the sun height
+                    // is too far from the twilight angle to cross it.
+                    double y_lead = hourStep > 0 ? y_plus : y_minus;
+                    int skip = (int) floor(abs(y_lead) / maxRate);
+                    if (skip > 1) {
+                        while (skip > 1 && hour <= maxHours && hour >= minHours) {
+                            hour += skip * hourStep;
+                            Vector pos = sun.apply(hour + hourStep);
+                            y_lead = correctedSunHeight(pos, elevation, angle, position);
+                            skip = skipHours(pos, y_lead, getLatitudeRad(), maxRate,
+                                    SUN_MOTION_RATE, toEquatorial);
+                        }
+                        if (hourStep > 0) {
+                            y_minus = height.applyAsDouble(hour - 1.0);
+                            y_0 = height.applyAsDouble(hour);
+                            y_plus = y_lead;
+                        } else {
+                            y_plus = height.applyAsDouble(hour + 1.0);
+                            y_0 = height.applyAsDouble(hour);
+                            y_minus = y_lead;
+                        }
+                        continue;
+                    }
+                }
+
                 hour += hourStep;
                 if (hourStep > 0) {
                     y_minus = y_0;
                     y_0 = y_plus;
-                    y_plus = correctedSunHeight(jd.atHour(hour + 1.0));
+                    y_plus = height.applyAsDouble(hour + 1.0);
                 } else {
                     y_plus = y_0;
                     y_0 = y_minus;
-                    y_minus = correctedSunHeight(jd.atHour(hour - 1.0));
+                    y_minus = height.applyAsDouble(hour - 1.0);
                 }
             }
 
+            // The time of the extremum does not depend on the twilight angle. The
+            // geometric height is used, so the positions can be shared by different
+            // twilight angles.
+            DoubleUnaryOperator geometric = t -> sun.apply(t).getTheta();
+
+            if (!extrema) {
+                noon = null;
+                nadir = null;
+            }
+
             if (noon != null) {
-                noon = readjustMax(noon, 2.0, 14, t -> correctedSunHeight(jd.atHour(t)));
+                noon = readjustMax(round(noon * 3600.0) / 3600.0, 2.0, 14, geometric);
                 if (noon < lowerLimitHours || noon >= upperLimitHours) {
                     noon = null;
                 }
             }
 
             if (nadir != null) {
-                nadir = readjustMin(nadir, 2.0, 14, t -> correctedSunHeight(jd.atHour(t)));
+                nadir = readjustMin(round(nadir * 3600.0) / 3600.0, 2.0, 14, geometric);
                 if (nadir < lowerLimitHours || nadir >= upperLimitHours) {
                     nadir = null;
                 }
@@ -370,19 +950,248 @@ public class SunTimes {
                 );
         }
 
+        @Override
+        public Stream<SunEvent> executeEvents() {
+            if (!hasLocation()) {
+                throw new IllegalArgumentException("Geolocation is missing.");
+            }
+
+            JulianDate jd = getJulianDate();
+            double lat = getLatitudeRad();
+            double lng = getLongitudeRad();
+            double elevation = getElevation();
+            double angle = this.angle;
+            Double position = this.position;
+            Ephemeris ephemeris = getEphemeris();
+
+            DoubleUnaryOperator height = hour ->
+                    correctedSunHeight(jd.atExactHour(hour), lat, lng, elevation, angle, position, ephemeris);
+
+            return StreamSupport.stream(new SunEventSpliterator(jd, height, getDuration()), false);
+        }
+
+        /**
+         * Computes the {@link SunTimes} analytically.
+         * <p>
+         * The hour angles of the rise and set are computed from the declination and the
+         * latitude. Together with the current hour angle, they give an estimation of
+         * the times of the next events, which is then refined by Newton iterations.
+         * Noon and nadir are estimated from the hour angle as well, and then refined by
+         * a parabola through the sun heights around them.
+         *
+         * @return {@link SunTimes}, or {@code null} if the times cannot be computed
+         *         analytically, and the hourly scan must be used instead
+         */
+        @Nullable
+        private SunTimes computeAnalytic() {
+            JulianDate jd = getJulianDate();
+            Duration duration = getDuration();
+            boolean reverse = duration.isNegative();
+            double limitHours = duration.toMillis() / (60 * 60 * 1000.0);
+            double lowerLimitHours = reverse ? limitHours : 0.0;
+            double upperLimitHours = reverse ? 0.0 : limitHours;
+
+            SunSample start = sample(jd, 0.0);
+
+            double lat = getLatitudeRad();
+            double cosH0 = (sin(start.target) - sin(lat) * sin(start.dec)) / (cos(lat) * cos(start.dec));
+            if (!(abs(cosH0) < MAX_HOUR_ANGLE_COS)) {
+                return null;
+            }
+            double h0 = acos(cosH0);
+
+            DoubleFunction<SunSample> sampler = t -> sample(jd, t);
+            Double rise = nextEvent(jd, start, -h0, reverse, t -> crossing(sampler, t, true));
+            Double set = nextEvent(jd, start, h0, reverse, t -> crossing(sampler, t, false));
+            Double noon = nextEvent(jd, start, 0.0, reverse, t -> extremum(jd, t, true));
+            Double nadir = nextEvent(jd, start, PI, reverse, t -> extremum(jd, t, false));
+            if (rise == null || set == null || noon == null || nadir == null) {
+                return null;
+            }
+
+            return new SunTimes(
+                    rise >= lowerLimitHours && rise < upperLimitHours ? jd.atHour(rise).getDateTime() : null,
+                    set >= lowerLimitHours && set < upperLimitHours ? jd.atHour(set).getDateTime() : null,
+                    noon >= lowerLimitHours && noon < upperLimitHours ? jd.atHour(noon).getDateTime() : null,
+                    nadir >= lowerLimitHours && nadir < upperLimitHours ? jd.atHour(nadir).getDateTime() : null,
+                    start.height > 0.0 && !(set >= lowerLimitHours && set < upperLimitHours),
+                    start.height <= 0.0 && !(rise >= lowerLimitHours && rise < upperLimitHours)
+                );
+        }
+
+        /**
+         * Finds the next event after the start time, or the previous event before the
+         * start time if the direction is reversed.
+         * <p>
+         * The event is expected when the hour angle of the sun reaches the given
+         * target. As the estimation is not exact, an event close to the start time may
+         * be found on the wrong side. Then the event of the adjacent day is used.
+         *
+         * @param jd {@link JulianDate} of the start time
+         * @param start {@link SunSample} at the start time
+         * @param targetHourAngle Hour angle of the event, in radians
+         * @param reverse {@code true} to find the previous event
+         * @param solver Refines the estimated time of the event, returns {@code null}
+         *            if the refinement failed
+         * @return Hours of the event, relative to the start time, or {@code null} if it
+         *         could not be found
+         */
+        @Nullable
+        private static Double nextEvent(JulianDate jd, SunSample start, double targetHourAngle,
+                boolean reverse, DoubleFunction<Double> solver) {
+            double delta = (targetHourAngle - start.hourAngle) % PI2;
+            if (delta < 0.0) {
+                delta += PI2;
+            }
+            double estimation = delta / HOUR_ANGLE_RATE;            // 0..24 hours
+
+            if (!reverse) {
+                if (estimation > 20.0) {
+                    Double previous = solver.apply(estimation - 24.0);
+                    if (previous == null || previous >= 0.0) {
+                        return previous;
+                    }
+                }
+                Double result = solver.apply(estimation);
+                if (result != null && result < 0.0) {
+                    result = solver.apply(estimation + 24.0);
+                }
+                return result;
+            } else {
+                estimation -= 24.0;                                   // -24..0 hours
+                if (estimation < -20.0) {
+                    Double next = solver.apply(estimation + 24.0);
+                    if (next == null || next < 0.0) {
+                        return next;
+                    }
+                }
+                Double result = solver.apply(estimation);
+                if (result != null && result >= 0.0) {
+                    result = solver.apply(estimation - 24.0);
+                }
+                return result;
+            }
+        }
+
+        /**
+         * Refines the time of a rise or set by Newton iterations.
+         *
+         * @param sampler Computes the {@link SunSample} at the given hour
+         * @param hour Estimated time of the event, in hours relative to the start time
+         * @param rising {@code true} for a rise, {@code false} for a set
+         * @return Refined time, or {@code null} if the iteration did not converge
+         */
+        @Nullable
+        private static Double crossing(DoubleFunction<SunSample> sampler, double hour, boolean rising) {
+            double t = hour;
+            for (int ix = 0; ix < MAX_ITERATIONS; ix++) {
+                SunSample sample = sampler.apply(t);
+                if (rising ? sample.rate <= 0.0 : sample.rate >= 0.0) {
+                    return null;
+                }
+                double step = sample.height / sample.rate;
+                if (abs(step) > 2.0) {
+                    return null;
+                }
+                t = sample.hour - step;
+                if (abs(step) < CONVERGENCE) {
+                    return t;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Refines the time of a noon or nadir, by the vertex of a parabola through the
+         * sun heights around it.
+         *
+         * @param jd {@link JulianDate} of the start time
+         * @param hour Estimated time of the event, in hours relative to the start time
+         * @param maximum {@code true} for noon, {@code false} for nadir
+         * @return Refined time, or {@code null} if the iteration did not converge
+         */
+        @Nullable
+        private Double extremum(JulianDate jd, double hour, boolean maximum) {
+            double t = hour;
+            for (int ix = 0; ix < MAX_ITERATIONS; ix++) {
+                double y_minus = sample(jd, t - EXTREMUM_SPACING).height;
+                double y_0 = sample(jd, t).height;
+                double y_plus = sample(jd, t + EXTREMUM_SPACING).height;
+                double curvature = y_minus - 2.0 * y_0 + y_plus;
+                if (maximum ? curvature >= 0.0 : curvature <= 0.0) {
+                    return null;
+                }
+                double shift = EXTREMUM_SPACING * (y_minus - y_plus) / (2.0 * curvature);
+                if (abs(shift) > 2.0) {
+                    return null;
+                }
+                t = round(t * 3600.0) / 3600.0 + shift;
+                if (abs(shift) < EXTREMUM_SPACING) {
+                    return t;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Computes a {@link SunSample}.
+         *
+         * @param jd {@link JulianDate} of the start time
+         * @param hour Hours relative to the start time. It is rounded to full seconds.
+         * @return {@link SunSample}
+         */
+        private SunSample sample(JulianDate jd, double hour) {
+            double t = round(hour * 3600.0) / 3600.0;
+            JulianDate date = jd.atHour(t);
+            double lat = getLatitudeRad();
+
+            Vector equatorial = Sun.position(date, getEphemeris());
+            double hourAngle = date.getGreenwichMeanSiderealTime() + getLongitudeRad() - equatorial.getPhi();
+            Vector horizontal = equatorialToHorizontal(hourAngle, equatorial.getTheta(), equatorial.getR(), lat);
+            double height = correctedSunHeight(horizontal, getElevation(), angle, position);
+
+            // Only the earth rotation is taken into account, which is sufficient for
+            // the Newton iteration to converge.
+            double rate = -cos(lat) * cos(equatorial.getTheta()) * sin(hourAngle)
+                    * HOUR_ANGLE_RATE / cos(horizontal.getTheta());
+
+            return new SunSample(t, height, rate, hourAngle, equatorial.getTheta(),
+                    horizontal.getTheta() - height);
+        }
+
         /**
          * Computes the sun height at the given date and position.
          *
          * @param jd {@link JulianDate} to use
+         * @param lat Latitude, in radians
+         * @param lng Longitude, in radians
+         * @param elevation Elevation, in meters
+         * @param angle Twilight angle, in radians
+         * @param position Angular position of the sun, or {@code null} if geocentric
+         * @param ephemeris {@link Ephemeris} to be used
          * @return height, in radians
          */
-        private double correctedSunHeight(JulianDate jd) {
-            Vector pos = Sun.positionHorizontal(jd, getLatitudeRad(), getLongitudeRad());
+        private static double correctedSunHeight(JulianDate jd, double lat, double lng,
+                double elevation, double angle, @Nullable Double position, Ephemeris ephemeris) {
+            Vector pos = Sun.positionHorizontal(jd, lat, lng, ephemeris);
+            return correctedSunHeight(pos, elevation, angle, position);
+        }
 
+        /**
+         * Computes the sun height at the given horizontal position.
+         *
+         * @param pos Horizontal position of the sun
+         * @param elevation Elevation, in meters
+         * @param angle Twilight angle, in radians
+         * @param position Angular position of the sun, or {@code null} if geocentric
+         * @return height, in radians
+         */
+        private static double correctedSunHeight(Vector pos, double elevation, double angle,
+                @Nullable Double position) {
             double hc = angle;
             if (position != null) {
                 hc -= apparentRefraction(hc);
-                hc += parallax(getElevation(), pos.getR());
+                hc += parallax(elevation, pos.getR());
                 hc -= position * Sun.angularRadius(pos.getR());
             }
 
@@ -390,6 +1199,363 @@ public class SunTimes {
         }
     }
 
+    /**
+     * A sample of the sun position, used for the analytic computation of
+     * {@link SunTimes}.
+     */
+    private static final class SunSample {
+        private final double hour;
+        private final double height;
+        private final double rate;
+        private final double hourAngle;
+        private final double dec;
+        private final double target;
+
+        /**
+         * Creates a new {@link SunSample}.
+         *
+         * @param hour Hours relative to the start time
+         * @param height Corrected sun height, in radians
+         * @param rate Approximated rate of change of the height, in radians per hour
+         * @param hourAngle Local hour angle of the sun, in radians
+         * @param dec Declination of the sun, in radians
+         * @param target Geometric sun height at the twilight angle, in radians
+         */
+        public SunSample(double hour, double height, double rate, double hourAngle,
+                double dec, double target) {
+            this.hour = hour;
+            this.height = height;
+            this.rate = rate;
+            this.hourAngle = hourAngle;
+            this.dec = dec;
+            this.target = target;
+        }
+    }
+
+    /**
+     * Sums up the hours the sun is above the twilight angle, from the crossings in the
+     * order of their occurrence.
+     */
+    private static final class Daylight {
+        private boolean up;
+        private double since = 0.0;
+        private double hours = 0.0;
+
+        /**
+         * Creates a new {@link Daylight}.
+         *
+         * @param up {@code true} if the sun is above the twilight angle at the start
+         */
+        public Daylight(boolean up) {
+            this.up = up;
+        }
+
+        /**
+         * Adds a crossing of the twilight angle.
+         *
+         * @param hour Hours relative to the start time
+         * @param rising {@code true} for a rise, {@code false} for a set
+         */
+        public void crossing(double hour, boolean rising) {
+            if (rising && !up) {
+                since = hour;
+                up = true;
+            } else if (!rising && up) {
+                hours += hour - since;
+                up = false;
+            }
+        }
+
+        /**
+         * Returns {@code true} if the sun is above the twilight angle after the last
+         * crossing.
+         */
+        public boolean isUp() {
+            return up;
+        }
+
+        /**
+         * Returns the hours of daylight.
+         *
+         * @param length Length of time, in hours
+         */
+        public double getHours(double length) {
+            return hours + (up ? length - since : 0.0);
+        }
+    }
+
+    /**
+     * The geocentric sun position along the time window, shared by all locations of
+     * a grid.
+     * <p>
+     * The Greenwich hour angle, the declination and the distance of the sun are
+     * computed at full hours when they are used for the first time, and are linearly
+     * interpolated in between. The sun moves so slowly that the interpolation error
+     * is far below one arc second.
+     */
+    private static final class SunTrack {
+        private final JulianDate jd;
+        private final Ephemeris ephemeris;
+        private final int first;
+        private final @Nullable Vector[] nodes;
+
+        /**
+         * Creates a new {@link SunTrack}.
+         *
+         * @param jd {@link JulianDate} of the start time
+         * @param ephemeris {@link Ephemeris} to be used
+         * @param first First hour to be kept, relative to the start time
+         * @param last Last hour to be kept, relative to the start time
+         */
+        public SunTrack(JulianDate jd, Ephemeris ephemeris, int first, int last) {
+            this.jd = jd;
+            this.ephemeris = ephemeris;
+            this.first = first;
+            this.nodes = new Vector[last - first + 1];
+        }
+
+        /**
+         * Returns the sun position at the given hour. The azimuthal angle is the
+         * Greenwich hour angle, the polar angle is the declination.
+         *
+         * @param hour Hours relative to the start time
+         * @return {@link Vector} of the sun position
+         */
+        public Vector greenwich(double hour) {
+            int k = (int) floor(hour);
+            double f = hour - k;
+            Vector a = node(k);
+            if (f == 0.0) {
+                return a;
+            }
+
+            Vector b = node(k + 1);
+            double dPhi = b.getPhi() - a.getPhi();
+            if (dPhi > PI) {
+                dPhi -= PI2;
+            } else if (dPhi < -PI) {
+                dPhi += PI2;
+            }
+            return Vector.ofPolar(
+                    a.getPhi() + f * dPhi,
+                    a.getTheta() + f * (b.getTheta() - a.getTheta()),
+                    a.getR() + f * (b.getR() - a.getR()));
+        }
+
+        /**
+         * Returns the horizontal sun position at the given hour.
+         *
+         * @param hour Hours relative to the start time
+         * @param lat Latitude, in radians
+         * @param lng Longitude, in radians
+         * @return {@link Vector} of the horizontal sun position
+         */
+        public Vector horizontal(double hour, double lat, double lng) {
+            Vector greenwich = greenwich(hour);
+            return equatorialToHorizontal(greenwich.getPhi() + lng, greenwich.getTheta(),
+                    greenwich.getR(), lat);
+        }
+
+        private Vector node(int hour) {
+            int ix = hour - first;
+            if (ix < 0 || ix >= nodes.length) {
+                return compute(hour);
+            }
+
+            Vector result = nodes[ix];
+            if (result == null) {
+                result = compute(hour);
+                nodes[ix] = result;
+            }
+            return result;
+        }
+
+        private Vector compute(int hour) {
+            JulianDate date = jd.atExactHour(hour);
+            Vector mc = Sun.position(date, ephemeris);
+            return Vector.ofPolar(date.getGreenwichMeanSiderealTime() - mc.getPhi(),
+                    mc.getTheta(), mc.getR());
+        }
+    }
+
+    /**
+     * Scans the time window for sun events. It uses the same hourly interpolation as
+     * {@link SunTimesBuilder#execute()}, but keeps the sliding window of sun heights
+     * across all days.
+     * <p>
+     * As the interpolation windows overlap, the same event may be found twice. Rises
+     * and sets, as well as noons and nadirs, always alternate, so an event is only
+     * accepted if its type differs from the previous one. Found events are kept in a
+     * queue until no subsequent window can find an earlier event.
+     */
+    private static final class SunEventSpliterator extends Spliterators.AbstractSpliterator<SunEvent> {
+        private static final double SETTLE_HOURS = 3.0;
+
+        private final JulianDate jd;
+        private final DoubleUnaryOperator height;
+        private final int hourStep;
+        private final double lowerLimitHours;
+        private final double upperLimitHours;
+        private final int minHours;
+        private final int maxHours;
+        private final PriorityQueue<PendingEvent> pending;
+
+        private int hour = 0;
+        private double y_minus;
+        private double y_0;
+        private double y_plus;
+        private @Nullable SunEvent.Type lastCrossing = null;
+        private double lastCrossingHour;
+        private @Nullable SunEvent.Type lastExtremum = null;
+        private double lastExtremumHour;
+
+        public SunEventSpliterator(JulianDate jd, DoubleUnaryOperator height, Duration duration) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+            this.jd = jd;
+            this.height = height;
+
+            if (duration.isNegative()) {
+                hourStep = -1;
+                lowerLimitHours = duration.toMillis() / (60 * 60 * 1000.0);
+                upperLimitHours = 0.0;
+                pending = new PriorityQueue<>(Comparator.comparingDouble((PendingEvent e) -> e.hour).reversed());
+            } else {
+                hourStep = 1;
+                lowerLimitHours = 0.0;
+                upperLimitHours = duration.toMillis() / (60 * 60 * 1000.0);
+                pending = new PriorityQueue<>(Comparator.comparingDouble((PendingEvent e) -> e.hour));
+            }
+
+            minHours = (int) floor(lowerLimitHours);
+            maxHours = (int) ceil(upperLimitHours);
+
+            y_minus = height.applyAsDouble(hour - 1.0);
+            y_0 = height.applyAsDouble(hour);
+            y_plus = height.applyAsDouble(hour + 1.0);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super SunEvent> action) {
+            while (true) {
+                boolean scanning = hour <= maxHours && hour >= minHours;
+                PendingEvent next = pending.peek();
+                if (next != null && (!scanning || isSettled(next.hour))) {
+                    pending.poll();
+                    action.accept(new SunEvent(next.type, jd.atHour(next.hour).getDateTime()));
+                    return true;
+                }
+                if (!scanning) {
+                    return false;
+                }
+                scan();
+            }
+        }
+
+        /**
+         * Scans the current interpolation window, and then moves it by one hour.
+         */
+        private void scan() {
+            QuadraticInterpolation qi = new QuadraticInterpolation(y_minus, y_0, y_plus);
+
+            if (qi.getNumberOfRoots() == 1) {
+                crossing(qi.getRoot1() + hour, y_minus < 0.0 ? SunEvent.Type.RISE : SunEvent.Type.SET);
+            } else if (qi.getNumberOfRoots() == 2) {
+                SunEvent.Type first = qi.getYe() < 0.0 ? SunEvent.Type.SET : SunEvent.Type.RISE;
+                SunEvent.Type second = qi.getYe() < 0.0 ? SunEvent.Type.RISE : SunEvent.Type.SET;
+                if (hourStep > 0) {
+                    crossing(qi.getRoot1() + hour, first);
+                    crossing(qi.getRoot2() + hour, second);
+                } else {
+                    crossing(qi.getRoot2() + hour, second);
+                    crossing(qi.getRoot1() + hour, first);
+                }
+            }
+
+            if (abs(qi.getXe()) <= 1.0) {
+                double xeHour = qi.getXe() + hour;
+                if (hourStep > 0 ? xeHour >= 0.0 : xeHour <= 0.0) {
+                    extremum(xeHour, qi.isMaximum() ? SunEvent.Type.NOON : SunEvent.Type.NADIR);
+                }
+            }
+
+            hour += hourStep;
+            if (hour > maxHours || hour < minHours) {
+                return;
+            }
+            if (hourStep > 0) {
+                y_minus = y_0;
+                y_0 = y_plus;
+                y_plus = height.applyAsDouble(hour + 1.0);
+            } else {
+                y_plus = y_0;
+                y_0 = y_minus;
+                y_minus = height.applyAsDouble(hour - 1.0);
+            }
+        }
+
+        /**
+         * Adds a rise or set, unless it has already been found.
+         */
+        private void crossing(double rt, SunEvent.Type type) {
+            if (rt < lowerLimitHours || rt >= upperLimitHours) {
+                return;
+            }
+            if (lastCrossing != null && (type == lastCrossing || !isAfter(rt, lastCrossingHour))) {
+                return;
+            }
+            lastCrossing = type;
+            lastCrossingHour = rt;
+            pending.add(new PendingEvent(rt, type));
+        }
+
+        /**
+         * Adds a noon or nadir, unless it has already been found.
+         */
+        private void extremum(double xeHour, SunEvent.Type type) {
+            if (lastExtremum != null && (type == lastExtremum || !isAfter(xeHour, lastExtremumHour))) {
+                return;
+            }
+            lastExtremum = type;
+            lastExtremumHour = xeHour;
+
+            double et = type == SunEvent.Type.NOON
+                    ? readjustMax(xeHour, 2.0, 14, height)
+                    : readjustMin(xeHour, 2.0, 14, height);
+            if (et >= lowerLimitHours && et < upperLimitHours) {
+                pending.add(new PendingEvent(et, type));
+            }
+        }
+
+        /**
+         * Checks if the first hour comes after the second hour, in scan direction.
+         */
+        private boolean isAfter(double a, double b) {
+            return hourStep > 0 ? a > b : a < b;
+        }
+
+        /**
+         * Checks if no subsequent window can find an event before the given hour.
+         */
+        private boolean isSettled(double eventHour) {
+            return hourStep > 0
+                    ? eventHour < hour - SETTLE_HOURS
+                    : eventHour > hour + SETTLE_HOURS;
+        }
+    }
+
+    /**
+     * An event that has been found, but not yet been passed to the stream.
+     */
+    private static final class PendingEvent {
+        private final double hour;
+        private final SunEvent.Type type;
+
+        public PendingEvent(double hour, SunEvent.Type type) {
+            this.hour = hour;
+            this.type = type;
+        }
+    }
+
     /**
      * Sunrise time. {@code null} if the sun does not rise that day.
      * <p>
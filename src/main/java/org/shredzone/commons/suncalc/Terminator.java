@@ -0,0 +1,320 @@
+/*
+ * Shredzone Commons - suncalc
+ *
+ * Copyright (C) 2026 Richard "Shred" Körber
+ *   http://commons.shredzone.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ */
+package org.shredzone.commons.suncalc;
+
+import static java.lang.Math.*;
+import static org.shredzone.commons.suncalc.util.ExtendedMath.*;
+
+import java.util.BitSet;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+import org.shredzone.commons.suncalc.SunTimes.Twilight;
+import org.shredzone.commons.suncalc.param.Builder;
+import org.shredzone.commons.suncalc.param.EphemerisParameter;
+import org.shredzone.commons.suncalc.param.GenericParameter;
+import org.shredzone.commons.suncalc.param.TimeParameter;
+import org.shredzone.commons.suncalc.util.BaseBuilder;
+import org.shredzone.commons.suncalc.util.Sun;
+
+/**
+ * Calculates the terminator, which is the line on the earth's surface where the sun is
+ * at the twilight angle at a given instant. It separates the day side from the night
+ * side.
+ * <p>
+ * The terminator is a circle around the {@link SubsolarPoint}, the point where the sun
+ * is in the zenith. It is computed in closed form from the subsolar point, so no sun
+ * positions need to be computed for single locations.
+ *
+ * @since 3.12
+ */
+public final class Terminator {
+
+    private final double[] latitudes;
+    private final double[] longitudes;
+
+    private Terminator(double[] latitudes, double[] longitudes) {
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+    }
+
+    /**
+     * Starts the computation of {@link Terminator}.
+     *
+     * @return {@link Parameters} to set.
+     */
+    public static Parameters compute() {
+        return new TerminatorBuilder();
+    }
+
+    /**
+     * Collects all parameters for {@link Terminator}.
+     */
+    public interface Parameters extends
+            GenericParameter<Parameters>,
+            TimeParameter<Parameters>,
+            EphemerisParameter<Parameters>,
+            Builder<Terminator> {
+
+        /**
+         * Sets the {@link Twilight} mode of the terminator.
+         * <p>
+         * Defaults to {@link Twilight#VISUAL}. The terminator is computed at sea level,
+         * so the parallax is only taken into account for the sun distance.
+         *
+         * @param twilight
+         *            {@link Twilight} mode to be used.
+         * @return itself
+         */
+        Parameters twilight(Twilight twilight);
+
+        /**
+         * Sets the desired elevation angle of the sun at the terminator.
+         *
+         * @param angle
+         *            Geocentric elevation angle, in degrees.
+         * @return itself
+         */
+        Parameters twilight(double angle);
+
+        /**
+         * Sets the number of points of the terminator line.
+         * <p>
+         * Defaults to 360.
+         *
+         * @param points
+         *            Number of points, at least 3
+         * @return itself
+         * @throws IllegalArgumentException
+         *             if the number of points is less than 3
+         */
+        Parameters points(int points);
+
+        /**
+         * Computes a mask of all cells of a grid where the sun is above the twilight
+         * angle.
+         * <p>
+         * The bounding box is divided into {@code rows} by {@code columns} cells of
+         * equal size, and each cell is evaluated at its center. The cell in row
+         * {@code r} and column {@code c}, counted from the north-west corner, is
+         * represented by the bit at index {@code r * columns + c}. The bit is set if
+         * the sun is above the twilight angle. This is the same layout as used by
+         * {@link SunTimes.Parameters#executeGrid(double, double, double, double, int, int, double[], double[], double[])}.
+         * <p>
+         * The subsolar point is only computed once, and the cells only need a few
+         * multiplications, so this is much faster than computing the sun position of
+         * every cell.
+         *
+         * @param north
+         *            Northern border of the grid, in degrees
+         * @param west
+         *            Western border of the grid, in degrees, from -180.0 (inclusive) to
+         *            180.0 (exclusive)
+         * @param south
+         *            Southern border of the grid, in degrees
+         * @param east
+         *            Eastern border of the grid, in degrees. It may exceed 180.0 if
+         *            the grid crosses the antimeridian.
+         * @param rows
+         *            Number of rows
+         * @param columns
+         *            Number of columns
+         * @return {@link BitSet} of the cells on the day side
+         * @throws IllegalArgumentException
+         *             if the bounding box or the grid size is invalid
+         */
+        BitSet executeMask(double north, double west, double south, double east,
+                int rows, int columns);
+
+        /**
+         * Creates an immutable {@link Query} of the current parameters. It can be
+         * executed any number of times, can be shared between threads, and can be used
+         * as a cache key.
+         *
+         * @return {@link Query} of {@link Terminator}
+         */
+        Query<Terminator> query();
+    }
+
+    /**
+     * Builder for {@link Terminator}. Performs the computations based on the
+     * parameters, and creates a {@link Terminator} object that holds the result.
+     */
+    private static class TerminatorBuilder extends BaseBuilder<Parameters> implements Parameters {
+        private static final int DEFAULT_POINTS = 360;
+
+        private double angle = Twilight.VISUAL.getAngleRad();
+        private @Nullable Double position = Twilight.VISUAL.getAngularPosition();
+        private int points = DEFAULT_POINTS;
+
+        @Override
+        public Parameters twilight(Twilight twilight) {
+            this.angle = twilight.getAngleRad();
+            this.position = twilight.getAngularPosition();
+            return this;
+        }
+
+        @Override
+        public Parameters twilight(double angle) {
+            this.angle = toRadians(angle);
+            this.position = null;
+            return this;
+        }
+
+        @Override
+        public Parameters points(int points) {
+            if (points < 3) {
+                throw new IllegalArgumentException("points must be at least 3, but is " + points);
+            }
+            this.points = points;
+            return this;
+        }
+
+        @Override
+        public Query<Terminator> query() {
+            TerminatorBuilder snapshot = (TerminatorBuilder) copy();
+            return new Query<>(Terminator.class, snapshot::execute,
+                    getDateTime(), getEphemeris(), angle, position, points);
+        }
+
+        @Override
+        public Terminator execute() {
+            SunCircle circle = circle();
+
+            // The terminator is a small circle around the subsolar point. Its points are
+            // found by walking its angular radius into every direction.
+            double sinRadius = circle.cosHeight;
+            double cosRadius = circle.sinHeight;
+
+            double[] latitudes = new double[points];
+            double[] longitudes = new double[points];
+            for (int ix = 0; ix < points; ix++) {
+                double bearing = PI2 * ix / points;
+                double sinLat = circle.sinLat * cosRadius + circle.cosLat * sinRadius * cos(bearing);
+                double lng = circle.lng + atan2(
+                        sin(bearing) * sinRadius * circle.cosLat,
+                        cosRadius - circle.sinLat * sinLat);
+
+                latitudes[ix] = toDegrees(asin(max(-1.0, min(1.0, sinLat))));
+                longitudes[ix] = toDegrees(normalizeLongitude(lng));
+            }
+
+            return new Terminator(latitudes, longitudes);
+        }
+
+        @Override
+        public BitSet executeMask(double north, double west, double south, double east,
+                int rows, int columns) {
+            int count = checkGrid(north, west, south, east, rows, columns);
+            SunCircle circle = circle();
+
+            double latStep = (north - south) / rows;
+            double lngStep = (east - west) / columns;
+
+            // The sun is above the twilight angle if the sine of its height exceeds the
+            // sine of the twilight angle. The hour angle only depends on the column.
+            double[] cosHourAngle = new double[columns];
+            for (int column = 0; column < columns; column++) {
+                cosHourAngle[column] = cos(toRadians(west + (column + 0.5) * lngStep) - circle.lng);
+            }
+
+            BitSet result = new BitSet(count);
+            for (int row = 0; row < rows; row++) {
+                double lat = toRadians(north - (row + 0.5) * latStep);
+                double a = sin(lat) * circle.sinLat;
+                double b = cos(lat) * circle.cosLat;
+                int offset = row * columns;
+                for (int column = 0; column < columns; column++) {
+                    if (a + b * cosHourAngle[column] > circle.sinHeight) {
+                        result.set(offset + column);
+                    }
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Computes the {@link SunCircle} of the current parameters.
+         */
+        private SunCircle circle() {
+            SubsolarPoint subsolar = SubsolarPoint.compute()
+                    .sameTimeAs(this)
+                    .ephemeris(getEphemeris())
+                    .execute();
+
+            double hc = angle;
+            if (position != null) {
+                hc -= apparentRefraction(hc);
+                hc += parallax(0.0, subsolar.getDistance());
+                hc -= position * Sun.angularRadius(subsolar.getDistance());
+            }
+
+            return new SunCircle(toRadians(subsolar.getLatitude()),
+                    toRadians(subsolar.getLongitude()), hc);
+        }
+    }
+
+    /**
+     * The subsolar point, and the geocentric sun height at the terminator.
+     */
+    private static final class SunCircle {
+        private final double sinLat;
+        private final double cosLat;
+        private final double lng;
+        private final double sinHeight;
+        private final double cosHeight;
+
+        /**
+         * Creates a new {@link SunCircle}.
+         *
+         * @param lat Latitude of the subsolar point, in radians
+         * @param lng Longitude of the subsolar point, in radians
+         * @param height Geocentric sun height at the terminator, in radians
+         */
+        public SunCircle(double lat, double lng, double height) {
+            this.sinLat = sin(lat);
+            this.cosLat = cos(lat);
+            this.lng = lng;
+            this.sinHeight = sin(height);
+            this.cosHeight = cos(height);
+        }
+    }
+
+    /**
+     * The latitudes of the points of the terminator line, in degrees.
+     * <p>
+     * The line is closed, the last point is connected to the first point. The points
+     * are ordered clockwise around the subsolar point, starting north of it.
+     *
+     * @return Copy of the latitudes
+     */
+    public double[] getLatitudes() {
+        return latitudes.clone();
+    }
+
+    /**
+     * The longitudes of the points of the terminator line, in degrees. They are in the
+     * range of -180.0 to 180.0, so the line may cross the antimeridian.
+     *
+     * @return Copy of the longitudes
+     */
+    public double[] getLongitudes() {
+        return longitudes.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "Terminator[points=" + latitudes.length + ']';
+    }
+
+}
@@ -0,0 +1,38 @@
+/*
+ * Shredzone Commons - suncalc
+ *
+ * Copyright (C) 2026 Richard "Shred" Körber
+ *   http://commons.shredzone.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ */
+package org.shredzone.commons.suncalc.param;
+
+/**
+ * Ephemeris based parameters.
+ * <p>
+ * Use them to select how the positions of the sun and the moon are computed. If
+ * omitted, {@link EphemerisProvider#series()} is used.
+ *
+ * @since 3.12
+ * @param <T>
+ *            Type of the final builder
+ */
+public interface EphemerisParameter<T> {
+
+    /**
+     * Sets the {@link EphemerisProvider} to be used.
+     *
+     * @param provider
+     *            {@link EphemerisProvider} that computes the positions of the sun and
+     *            the moon
+     * @return itself
+     */
+    T ephemeris(EphemerisProvider provider);
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Shredzone Commons - suncalc
+ *
+ * Copyright (C) 2026 Richard "Shred" Körber
+ *   http://commons.shredzone.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ */
+package org.shredzone.commons.suncalc.param;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.shredzone.commons.suncalc.util.Ephemeris;
+import org.shredzone.commons.suncalc.util.EphemerisFile;
+
+/**
+ * Provides the positions of the sun and the moon, which are the base of all
+ * computations.
+ * <p>
+ * By default, the positions are computed from series expansions, see
+ * {@link #series()}. Other providers may use precomputed tables, caches, or more
+ * precise theories.
+ * <p>
+ * Implementations must be threadsafe.
+ *
+ * @since 3.12
+ */
+public interface EphemerisProvider {
+
+    /**
+     * Returns the default provider, which computes the positions from series
+     * expansions.
+     */
+    static EphemerisProvider series() {
+        return Ephemeris.SERIES;
+    }
+
+    /**
+     * Returns a provider that approximates the series expansions by Chebyshev
+     * polynomials. The polynomials are computed on demand, and kept in a bounded cache.
+     * It is considerably faster when many moon positions are computed in the same
+     * days. The maximum deviation from {@link #series()} is 1e-9 radians.
+     */
+    static EphemerisProvider chebyshev() {
+        return Ephemeris.CHEBYSHEV;
+    }
+
+    /**
+     * Returns a provider that reads the Chebyshev polynomials from a file that was
+     * generated by {@link #createFile(Path, int, int)}. The file is mapped into memory,
+     * so it is opened nearly instantly, and shared by all processes on the same host.
+     * Positions outside of the years of the file are computed from the series
+     * expansions.
+     *
+     * @param file
+     *            {@link Path} of the ephemeris file
+     * @return {@link EphemerisProvider} using that file
+     * @throws IOException
+     *             if the file could not be read, or is not a valid ephemeris file
+     */
+    static EphemerisProvider ofFile(Path file) throws IOException {
+        return Ephemeris.of(EphemerisFile.open(file));
+    }
+
+    /**
+     * Generates a file for {@link #ofFile(Path)}.
+     * <p>
+     * A file covering the years 1900 to 2100 has a size of about 6 MB.
+     *
+     * @param file
+     *            {@link Path} of the file to be written. An existing file is
+     *            overwritten.
+     * @param fromYear
+     *            First year to be covered
+     * @param toYear
+     *            Last year to be covered
+     */
+    static void createFile(Path file, int fromYear, int toYear) throws IOException {
+        EphemerisFile.write(file, fromYear, toYear);
+    }
+
+    /**
+     * Computes the geocentric position of the sun.
+     * <p>
+     * The built-in providers compute the distance for the day in UTC. As the other
+     * computations use the distance of the local day, it is adjusted to the time zone
+     * afterwards.
+     *
+     * @param mjd
+     *            Modified Julian Date, UTC
+     * @return Array of the ecliptic longitude (radians, 0 to 2π), the ecliptic latitude
+     *         (radians), and the distance (kilometers)
+     */
+    double[] sunPosition(double mjd);
+
+    /**
+     * Computes the geocentric position of the moon.
+     *
+     * @param mjd
+     *            Modified Julian Date, UTC
+     * @return Array of the ecliptic longitude (radians, 0 to 2π), the ecliptic latitude
+     *         (radians), and the distance (kilometers)
+     */
+    double[] moonPosition(double mjd);
+
+}
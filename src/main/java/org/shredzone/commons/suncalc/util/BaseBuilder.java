@@ -14,6 +14,7 @@
 package org.shredzone.commons.suncalc.util;
 
 import static java.lang.Math.max;
+import static java.lang.Math.multiplyExact;
 import static java.lang.Math.toRadians;
 
 import java.time.Duration;
@@ -27,6 +28,8 @@ import java.time.temporal.ChronoUnit;
 import java.util.Objects;
 
 import edu.umd.cs.findbugs.annotations.Nullable;
+import org.shredzone.commons.suncalc.param.EphemerisParameter;
+import org.shredzone.commons.suncalc.param.EphemerisProvider;
 import org.shredzone.commons.suncalc.param.GenericParameter;
 import org.shredzone.commons.suncalc.param.LocationParameter;
 import org.shredzone.commons.suncalc.param.TimeParameter;
@@ -43,7 +46,7 @@ import org.shredzone.commons.suncalc.param.WindowParameter;
  */
 @SuppressWarnings("unchecked")
 public class BaseBuilder<T> implements GenericParameter<T>, LocationParameter<T>,
-        TimeParameter<T>, WindowParameter<T>, Cloneable {
+        TimeParameter<T>, WindowParameter<T>, EphemerisParameter<T>, Cloneable {
 
     private @Nullable Double lat = null;
     private @Nullable Double lng = null;
@@ -51,6 +54,7 @@ public class BaseBuilder<T> implements GenericParameter<T>, LocationParameter<T>
     private ZonedDateTime dateTime = ZonedDateTime.now();
     private boolean reverse = false;
     private Duration duration = Duration.ofDays(365L);
+    private Ephemeris ephemeris = Ephemeris.SERIES;
 
     @Override
     public T on(ZonedDateTime dateTime) {
@@ -178,6 +182,12 @@ public class BaseBuilder<T> implements GenericParameter<T>, LocationParameter<T>
         return (T) this;
     }
 
+    @Override
+    public T ephemeris(EphemerisProvider provider) {
+        this.ephemeris = Ephemeris.of(provider);
+        return (T) this;
+    }
+
     @Override
     public T copy() {
         try {
@@ -238,6 +248,16 @@ public class BaseBuilder<T> implements GenericParameter<T>, LocationParameter<T>
         return elevation;
     }
 
+    /**
+     * Returns the date and time to be used.
+     *
+     * @return {@link ZonedDateTime}
+     * @since 3.12
+     */
+    public ZonedDateTime getDateTime() {
+        return dateTime;
+    }
+
     /**
      * Returns the {@link JulianDate} to be used.
      *
@@ -247,6 +267,16 @@ public class BaseBuilder<T> implements GenericParameter<T>, LocationParameter<T>
         return new JulianDate(dateTime);
     }
 
+    /**
+     * Returns the {@link Ephemeris} to be used.
+     *
+     * @return {@link Ephemeris}
+     * @since 3.12
+     */
+    public Ephemeris getEphemeris() {
+        return ephemeris;
+    }
+
     /**
      * Returns {@code true} if a geolocation has been set.
      *
@@ -266,6 +296,99 @@ public class BaseBuilder<T> implements GenericParameter<T>, LocationParameter<T>
         lng = null;
     }
 
+    /**
+     * Checks that an optional result array is large enough for the given number of
+     * results.
+     *
+     * @param array
+     *            Array to check, may be {@code null}
+     * @param count
+     *            Number of results to be stored in the array
+     * @param name
+     *            Name of the array, for the exception message
+     * @throws IllegalArgumentException
+     *             if the array is too small
+     * @since 3.12
+     */
+    protected static void checkArray(@Nullable double[] array, int count, String name) {
+        if (array != null && array.length < count) {
+            throw new IllegalArgumentException(name + " array too small, " + array.length + " < " + count);
+        }
+    }
+
+    /**
+     * Checks that the given latitude and longitude arrays have the same length, and
+     * only contain valid coordinates.
+     *
+     * @param latitude
+     *            Latitudes, in degrees
+     * @param longitude
+     *            Longitudes, in degrees
+     * @throws IllegalArgumentException
+     *             if the arrays differ in length, or a coordinate is out of range
+     * @since 3.12
+     */
+    protected static void checkLocations(double[] latitude, double[] longitude) {
+        Objects.requireNonNull(latitude, "latitude");
+        Objects.requireNonNull(longitude, "longitude");
+        if (latitude.length != longitude.length) {
+            throw new IllegalArgumentException("latitude and longitude arrays differ in length, "
+                    + latitude.length + " != " + longitude.length);
+        }
+        for (int ix = 0; ix < latitude.length; ix++) {
+            if (!(latitude[ix] >= -90.0 && latitude[ix] <= 90.0)) {
+                throw new IllegalArgumentException("Latitude out of range, -90.0 <= "
+                        + latitude[ix] + " <= 90.0 at index " + ix);
+            }
+            if (!(longitude[ix] >= -180.0 && longitude[ix] <= 180.0)) {
+                throw new IllegalArgumentException("Longitude out of range, -180.0 <= "
+                        + longitude[ix] + " <= 180.0 at index " + ix);
+            }
+        }
+    }
+
+    /**
+     * Checks that the given bounding box and grid size are valid.
+     *
+     * @param north
+     *            Northern border, in degrees
+     * @param west
+     *            Western border, in degrees, from -180.0 (inclusive) to
+     *            180.0 (exclusive)
+     * @param south
+     *            Southern border, in degrees
+     * @param east
+     *            Eastern border, in degrees. It may exceed 180.0 if the bounding box
+     *            crosses the antimeridian.
+     * @param rows
+     *            Number of rows
+     * @param columns
+     *            Number of columns
+     * @return Number of cells
+     * @throws IllegalArgumentException
+     *             if the bounding box or the grid size is invalid
+     * @since 3.12
+     */
+    protected static int checkGrid(double north, double west, double south, double east,
+            int rows, int columns) {
+        if (!(south >= -90.0 && south < north && north <= 90.0)) {
+            throw new IllegalArgumentException("Latitude range invalid, -90.0 <= "
+                    + south + " < " + north + " <= 90.0");
+        }
+        if (!(west >= -180.0 && west < 180.0)) {
+            throw new IllegalArgumentException("Western border invalid, -180.0 <= "
+                    + west + " < 180.0");
+        }
+        if (!(west < east && east <= west + 360.0)) {
+            throw new IllegalArgumentException("Longitude range invalid, "
+                    + west + " < " + east + " <= " + (west + 360.0));
+        }
+        if (rows <= 0 || columns <= 0) {
+            throw new IllegalArgumentException("Grid size invalid, " + rows + " x " + columns);
+        }
+        return multiplyExact(rows, columns);
+    }
+
     /**
      * Returns the duration of the time window.
      *
@@ -0,0 +1,171 @@
+/*
+ * Shredzone Commons - suncalc
+ *
+ * Copyright (C) 2026 Richard "Shred" Körber
+ *   http://commons.shredzone.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ */
+package org.shredzone.commons.suncalc.util;
+
+import static java.lang.Math.PI;
+import static java.lang.Math.cos;
+
+import java.nio.DoubleBuffer;
+
+/**
+ * A Chebyshev polynomial that approximates a function within an interval.
+ * <p>
+ * Objects are immutable and threadsafe.
+ *
+ * @see <a href="https://en.wikipedia.org/wiki/Chebyshev_polynomials">Wikipedia:
+ *      Chebyshev polynomials</a>
+ */
+public class Chebyshev {
+
+    private final double start;
+    private final double end;
+    private final double[] coefficients;
+
+    private Chebyshev(double start, double end, double[] coefficients) {
+        this.start = start;
+        this.end = end;
+        this.coefficients = coefficients;
+    }
+
+    /**
+     * Returns the Chebyshev nodes of the given interval. The function to be
+     * approximated must be sampled at these nodes.
+     *
+     * @param start
+     *            Start of the interval
+     * @param end
+     *            End of the interval
+     * @param count
+     *            Number of nodes, which is the degree of the polynomial plus one
+     * @return Nodes, in descending order
+     */
+    public static double[] nodes(double start, double end, int count) {
+        double[] result = new double[count];
+        double center = (end + start) / 2.0;
+        double half = (end - start) / 2.0;
+        for (int k = 0; k < count; k++) {
+            result[k] = center + half * cos(PI * (k + 0.5) / count);
+        }
+        return result;
+    }
+
+    /**
+     * Fits a Chebyshev polynomial to the given samples.
+     *
+     * @param start
+     *            Start of the interval
+     * @param end
+     *            End of the interval
+     * @param samples
+     *            Function values at the nodes returned by
+     *            {@link #nodes(double, double, int)}
+     * @return {@link Chebyshev} polynomial
+     */
+    public static Chebyshev fit(double start, double end, double[] samples) {
+        if (!(end > start)) {
+            throw new IllegalArgumentException("empty interval");
+        }
+        if (samples.length == 0) {
+            throw new IllegalArgumentException("no samples");
+        }
+
+        int count = samples.length;
+        double[] c = new double[count];
+        for (int j = 0; j < count; j++) {
+            double sum = 0.0;
+            for (int k = 0; k < count; k++) {
+                sum += samples[k] * cos(PI * j * (k + 0.5) / count);
+            }
+            c[j] = 2.0 * sum / count;
+        }
+        c[0] /= 2.0;
+        return new Chebyshev(start, end, c);
+    }
+
+    /**
+     * Returns the start of the interval.
+     */
+    public double getStart() {
+        return start;
+    }
+
+    /**
+     * Returns the end of the interval.
+     */
+    public double getEnd() {
+        return end;
+    }
+
+    /**
+     * Evaluates the polynomial, using Clenshaw's algorithm.
+     *
+     * @param x
+     *            Position to evaluate. Should be within the interval, as the
+     *            approximation quickly gets inaccurate outside of it.
+     * @return Approximated function value at that position
+     */
+    public double evaluate(double x) {
+        double u = (2.0 * x - start - end) / (end - start);
+        double u2 = 2.0 * u;
+        double b1 = 0.0;
+        double b2 = 0.0;
+        for (int j = coefficients.length - 1; j > 0; j--) {
+            double b = u2 * b1 - b2 + coefficients[j];
+            b2 = b1;
+            b1 = b;
+        }
+        return u * b1 - b2 + coefficients[0];
+    }
+
+    /**
+     * Returns the coefficients of the polynomial. The array must not be modified.
+     */
+    double[] getCoefficients() {
+        return coefficients;
+    }
+
+    /**
+     * Evaluates a polynomial with coefficients that are stored in a {@link DoubleBuffer}.
+     * The buffer is only read by absolute positions, so it can be shared between
+     * threads.
+     *
+     * @param buffer
+     *            {@link DoubleBuffer} containing the coefficients
+     * @param offset
+     *            Index of the first coefficient in the buffer
+     * @param count
+     *            Number of coefficients
+     * @param start
+     *            Start of the interval
+     * @param end
+     *            End of the interval
+     * @param x
+     *            Position to evaluate
+     * @return Approximated function value at that position
+     * @see #evaluate(double)
+     */
+    static double evaluate(DoubleBuffer buffer, int offset, int count, double start, double end, double x) {
+        double u = (2.0 * x - start - end) / (end - start);
+        double u2 = 2.0 * u;
+        double b1 = 0.0;
+        double b2 = 0.0;
+        for (int j = count - 1; j > 0; j--) {
+            double b = u2 * b1 - b2 + buffer.get(offset + j);
+            b2 = b1;
+            b1 = b;
+        }
+        return u * b1 - b2 + buffer.get(offset);
+    }
+
+}
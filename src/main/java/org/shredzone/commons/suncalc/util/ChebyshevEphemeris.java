@@ -0,0 +1,255 @@
+/*
+ * Shredzone Commons - suncalc
+ *
+ * Copyright (C) 2026 Richard "Shred" Körber
+ *   http://commons.shredzone.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ */
+package org.shredzone.commons.suncalc.util;
+
+import static java.lang.Math.*;
+import static org.shredzone.commons.suncalc.util.ExtendedMath.PI2;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Positions of the sun and the moon, approximated by Chebyshev polynomials.
+ * <p>
+ * The polynomials are fitted to the series of {@link Sun#positionEquatorial(JulianDate)}
+ * and {@link Moon#positionEquatorial(JulianDate)}, over intervals of 8 days for the sun
+ * and 4 days for the moon. They are computed when an interval is used for the first
+ * time, and are kept in a bounded cache. If many positions are computed within the
+ * same intervals, evaluating the polynomials of the moon is considerably faster than
+ * evaluating its series. The sun series is short, so there is little gain for the sun.
+ * <p>
+ * Compared to the series, the maximum deviation is 1e-9 radians (0.0002 arc seconds)
+ * for all angles, and 1e-4 km for the moon distance. The sun distance is not
+ * approximated. The deviation is far below the accuracy of the series itself.
+ * <p>
+ * This class is threadsafe.
+ *
+ * @since 3.12
+ */
+public final class ChebyshevEphemeris {
+
+    static final double SUN_SPAN = 8.0;
+    static final int SUN_NODES = 10;
+    static final double MOON_SPAN = 4.0;
+    static final int MOON_NODES = 12;
+    private static final int CACHE_SIZE = 256;
+
+    private static final SegmentCache SUN_CACHE = new SegmentCache(SUN_SPAN, CACHE_SIZE) {
+        @Override
+        protected Chebyshev[] create(double start, double end) {
+            return fitSun(start, end);
+        }
+    };
+
+    private static final SegmentCache MOON_CACHE = new SegmentCache(MOON_SPAN, CACHE_SIZE) {
+        @Override
+        protected Chebyshev[] create(double start, double end) {
+            return fitMoon(start, end);
+        }
+    };
+
+    private ChebyshevEphemeris() {
+        // Utility class without constructor
+    }
+
+    /**
+     * Calculates the equatorial position of the sun.
+     *
+     * @param date
+     *            {@link JulianDate} to be used
+     * @return {@link Vector} containing the sun position
+     * @see Sun#positionEquatorial(JulianDate)
+     */
+    public static Vector sunPositionEquatorial(JulianDate date) {
+        double T = date.getJulianCentury();
+        Chebyshev[] fits = SUN_CACHE.get(date.getModifiedJulianDate());
+        return Vector.ofPolar(wrap(fits[0].evaluate(T)), 0.0, Sun.distance(date));
+    }
+
+    /**
+     * Calculates the equatorial position of the moon.
+     *
+     * @param date
+     *            {@link JulianDate} to be used
+     * @return {@link Vector} of equatorial moon position
+     * @see Moon#positionEquatorial(JulianDate)
+     */
+    public static Vector moonPositionEquatorial(JulianDate date) {
+        double T = date.getJulianCentury();
+        Chebyshev[] fits = MOON_CACHE.get(date.getModifiedJulianDate());
+        return Vector.ofPolar(
+                wrap(fits[0].evaluate(T)),
+                fits[1].evaluate(T),
+                fits[2].evaluate(T));
+    }
+
+    /**
+     * Fits the polynomial of the sun longitude.
+     *
+     * @param start
+     *            Start of the interval, in Julian centuries
+     * @param end
+     *            End of the interval, in Julian centuries
+     * @return Array containing the polynomial of the longitude
+     */
+    static Chebyshev[] fitSun(double start, double end) {
+        double[] nodes = Chebyshev.nodes(start, end, SUN_NODES);
+        double[] lon = new double[nodes.length];
+        for (int ix = 0; ix < nodes.length; ix++) {
+            lon[ix] = Sun.longitude(nodes[ix]);
+        }
+        unwrap(lon);
+        return new Chebyshev[] {Chebyshev.fit(start, end, lon)};
+    }
+
+    /**
+     * Fits the polynomials of the moon position.
+     *
+     * @param start
+     *            Start of the interval, in Julian centuries
+     * @param end
+     *            End of the interval, in Julian centuries
+     * @return Array containing the polynomials of the longitude, latitude and distance
+     */
+    static Chebyshev[] fitMoon(double start, double end) {
+        double[] nodes = Chebyshev.nodes(start, end, MOON_NODES);
+        double[] lon = new double[nodes.length];
+        double[] lat = new double[nodes.length];
+        double[] dist = new double[nodes.length];
+        for (int ix = 0; ix < nodes.length; ix++) {
+            Vector pos = Moon.positionEquatorial(nodes[ix]);
+            lon[ix] = pos.getPhi();
+            lat[ix] = pos.getTheta();
+            dist[ix] = pos.getR();
+        }
+        unwrap(lon);
+        return new Chebyshev[] {
+                Chebyshev.fit(start, end, lon),
+                Chebyshev.fit(start, end, lat),
+                Chebyshev.fit(start, end, dist)
+        };
+    }
+
+    /**
+     * Returns the start of an interval, in Julian centuries.
+     *
+     * @param index
+     *            Index of the interval
+     * @param span
+     *            Length of an interval, in days
+     * @return Start of the interval
+     */
+    static double intervalStart(long index, double span) {
+        return (index * span - 51544.5) / 36525.0;
+    }
+
+    /**
+     * Brings an angle into the range of 0 to 2π.
+     */
+    static double wrap(double angle) {
+        double result = angle % PI2;
+        return result < 0.0 ? result + PI2 : result;
+    }
+
+    /**
+     * Removes the jumps between 2π and 0 from a sequence of angles, so they can be
+     * approximated by a polynomial.
+     */
+    private static void unwrap(double[] angles) {
+        for (int ix = 1; ix < angles.length; ix++) {
+            double diff = angles[ix] - angles[ix - 1];
+            if (diff > PI) {
+                angles[ix] -= PI2;
+            } else if (diff < -PI) {
+                angles[ix] += PI2;
+            }
+        }
+    }
+
+    /**
+     * The polynomials of a single interval.
+     */
+    private static final class Segment {
+        private final long index;
+        private final Chebyshev[] fits;
+
+        public Segment(long index, Chebyshev[] fits) {
+            this.index = index;
+            this.fits = fits;
+        }
+    }
+
+    /**
+     * A bounded cache of {@link Segment}. The least recently used segment is removed
+     * if the cache is full. The segment that was used last is kept separately, so
+     * consecutive computations in the same interval do not need to lock the cache.
+     */
+    private abstract static class SegmentCache {
+        private final double span;
+        private final Map<Long, Segment> cache;
+        private volatile @Nullable Segment last = null;
+
+        public SegmentCache(double span, int maxSize) {
+            this.span = span;
+            this.cache = new LinkedHashMap<Long, Segment>(maxSize * 2, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Segment> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+
+        /**
+         * Returns the polynomials of the interval that covers the given modified Julian
+         * date.
+         */
+        public Chebyshev[] get(double mjd) {
+            long index = (long) floor(mjd / span);
+
+            Segment segment = last;
+            if (segment != null && segment.index == index) {
+                return segment.fits;
+            }
+
+            synchronized (cache) {
+                segment = cache.get(index);
+                if (segment == null) {
+                    segment = new Segment(index, create(
+                            intervalStart(index, span),
+                            intervalStart(index + 1, span)));
+                    cache.put(index, segment);
+                }
+            }
+
+            last = segment;
+            return segment.fits;
+        }
+
+        /**
+         * Fits the polynomials of a new interval.
+         *
+         * @param start
+         *            Start of the interval, in Julian centuries
+         * @param end
+         *            End of the interval, in Julian centuries
+         * @return Polynomials of the interval
+         */
+        protected abstract Chebyshev[] create(double start, double end);
+    }
+
+}
@@ -0,0 +1,185 @@
+/*
+ * Shredzone Commons - suncalc
+ *
+ * Copyright (C) 2026 Richard "Shred" Körber
+ *   http://commons.shredzone.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ */
+package org.shredzone.commons.suncalc.util;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+import org.shredzone.commons.suncalc.param.EphemerisProvider;
+
+/**
+ * Internal base of all {@link EphemerisProvider}. It computes the positions from
+ * {@link JulianDate}, so the built-in providers do not need to convert the date.
+ * Other {@link EphemerisProvider} are adapted by {@link #of(EphemerisProvider)}.
+ *
+ * @since 3.12
+ */
+public abstract class Ephemeris implements EphemerisProvider {
+
+    private static final JulianDate EPOCH =
+            new JulianDate(ZonedDateTime.of(2000, 1, 1, 12, 0, 0, 0, ZoneOffset.UTC));
+
+    /**
+     * Computes the positions from the series expansions of {@link Sun} and
+     * {@link Moon}.
+     */
+    public static final Ephemeris SERIES = new Ephemeris() {
+        @Override
+        public Vector sunPositionEquatorial(JulianDate date) {
+            return Sun.positionEquatorial(date);
+        }
+
+        @Override
+        public Vector moonPositionEquatorial(JulianDate date) {
+            return Moon.positionEquatorial(date);
+        }
+    };
+
+    /**
+     * Computes the positions from the Chebyshev polynomials of
+     * {@link ChebyshevEphemeris}.
+     */
+    public static final Ephemeris CHEBYSHEV = new Ephemeris() {
+        @Override
+        public Vector sunPositionEquatorial(JulianDate date) {
+            return ChebyshevEphemeris.sunPositionEquatorial(date);
+        }
+
+        @Override
+        public Vector moonPositionEquatorial(JulianDate date) {
+            return ChebyshevEphemeris.moonPositionEquatorial(date);
+        }
+    };
+
+    /**
+     * Returns an {@link Ephemeris} that reads the positions from an
+     * {@link EphemerisFile}.
+     *
+     * @param file
+     *            {@link EphemerisFile} to use
+     * @return {@link Ephemeris}
+     */
+    public static Ephemeris of(EphemerisFile file) {
+        Objects.requireNonNull(file, "file");
+        return new Ephemeris() {
+            @Override
+            public Vector sunPositionEquatorial(JulianDate date) {
+                return file.sunPositionEquatorial(date);
+            }
+
+            @Override
+            public Vector moonPositionEquatorial(JulianDate date) {
+                return file.moonPositionEquatorial(date);
+            }
+        };
+    }
+
+    /**
+     * Returns an {@link Ephemeris} of the given {@link EphemerisProvider}.
+     *
+     * @param provider
+     *            {@link EphemerisProvider} to use
+     * @return {@link Ephemeris}. If the provider is an {@link Ephemeris} itself, it is
+     *         returned unchanged. Otherwise, adapters of the same provider are equal.
+     */
+    public static Ephemeris of(EphemerisProvider provider) {
+        Objects.requireNonNull(provider, "provider");
+        if (provider instanceof Ephemeris) {
+            return (Ephemeris) provider;
+        }
+        return new Adapter(provider);
+    }
+
+    /**
+     * Calculates the equatorial position of the sun.
+     *
+     * @param date
+     *            {@link JulianDate} to be used
+     * @return {@link Vector} containing the sun position
+     * @see Sun#positionEquatorial(JulianDate)
+     */
+    public abstract Vector sunPositionEquatorial(JulianDate date);
+
+    /**
+     * Calculates the equatorial position of the moon.
+     *
+     * @param date
+     *            {@link JulianDate} to be used
+     * @return {@link Vector} of equatorial moon position
+     * @see Moon#positionEquatorial(JulianDate)
+     */
+    public abstract Vector moonPositionEquatorial(JulianDate date);
+
+    @Override
+    public double[] sunPosition(double mjd) {
+        return toArray(sunPositionEquatorial(EPOCH.atModifiedJulianDate(mjd)));
+    }
+
+    @Override
+    public double[] moonPosition(double mjd) {
+        return toArray(moonPositionEquatorial(EPOCH.atModifiedJulianDate(mjd)));
+    }
+
+    private static double[] toArray(Vector position) {
+        return new double[] {position.getPhi(), position.getTheta(), position.getR()};
+    }
+
+    private static Vector toVector(double[] position) {
+        if (position.length != 3) {
+            throw new IllegalStateException("EphemerisProvider returned "
+                    + position.length + " values instead of 3");
+        }
+        return Vector.ofPolar(position[0], position[1], position[2]);
+    }
+
+    /**
+     * Adapts an {@link EphemerisProvider} that is not an {@link Ephemeris}.
+     */
+    private static final class Adapter extends Ephemeris {
+        private final EphemerisProvider provider;
+
+        public Adapter(EphemerisProvider provider) {
+            this.provider = provider;
+        }
+
+        @Override
+        public Vector sunPositionEquatorial(JulianDate date) {
+            double mjd = date.getModifiedJulianDate();
+            Vector position = toVector(provider.sunPosition(mjd));
+
+            // The built-in sun distance depends on the local day, but the provider only
+            // gets the instant, and computes the distance for the day in UTC. Apply the
+            // difference, so a provider passing to a built-in one gives the same results.
+            double correction = Sun.distance(date) / Sun.distance(EPOCH.atModifiedJulianDate(mjd));
+            return Vector.ofPolar(position.getPhi(), position.getTheta(), position.getR() * correction);
+        }
+
+        @Override
+        public Vector moonPositionEquatorial(JulianDate date) {
+            return toVector(provider.moonPosition(date.getModifiedJulianDate()));
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Adapter && provider.equals(((Adapter) obj).provider);
+        }
+
+        @Override
+        public int hashCode() {
+            return provider.hashCode();
+        }
+    }
+
+}
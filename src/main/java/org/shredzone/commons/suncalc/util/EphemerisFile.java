@@ -0,0 +1,275 @@
+/*
+ * Shredzone Commons - suncalc
+ *
+ * Copyright (C) 2026 Richard "Shred" Körber
+ *   http://commons.shredzone.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ */
+package org.shredzone.commons.suncalc.util;
+
+import static java.lang.Math.floor;
+import static org.shredzone.commons.suncalc.util.ChebyshevEphemeris.*;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * A binary file of the Chebyshev polynomials of {@link ChebyshevEphemeris}, for a fixed
+ * range of years.
+ * <p>
+ * The file is generated once by {@link #write(Path, int, int)}. {@link #open(Path)}
+ * maps it into memory, and the positions are evaluated directly from the mapped file.
+ * Opening the file is nearly instant, and the pages of the file are shared by all
+ * processes that use it.
+ * <p>
+ * The file is big-endian. It starts with a header of 56 bytes:
+ * <ul>
+ * <li>magic number "SCEF" (int) and version (int)</li>
+ * <li>for the sun, then for the moon: interval length in days (double), index of the
+ * first interval (long), number of intervals (int), number of coefficients per
+ * polynomial (int)</li>
+ * </ul>
+ * It is followed by the coefficients (double) of all sun intervals, and then of all
+ * moon intervals. Each sun interval contains the polynomial of the longitude. Each
+ * moon interval contains the polynomials of the longitude, latitude, and distance.
+ * <p>
+ * Within the range of the file, the results have the same accuracy as
+ * {@link ChebyshevEphemeris}. Positions outside of the range of the file are computed
+ * from the series.
+ * <p>
+ * Objects are immutable and threadsafe.
+ *
+ * @since 3.12
+ */
+public final class EphemerisFile {
+
+    private static final int MAGIC = 0x53434546;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 56;
+
+    private final Table sun;
+    private final Table moon;
+
+    private EphemerisFile(Table sun, Table moon) {
+        this.sun = sun;
+        this.moon = moon;
+    }
+
+    /**
+     * Generates an ephemeris file.
+     *
+     * @param file
+     *            {@link Path} of the file to be written. An existing file is
+     *            overwritten.
+     * @param fromYear
+     *            First year to be covered
+     * @param toYear
+     *            Last year to be covered
+     */
+    public static void write(Path file, int fromYear, int toYear) throws IOException {
+        if (toYear < fromYear) {
+            throw new IllegalArgumentException("toYear must not be before fromYear");
+        }
+
+        double fromMjd = startOfYear(fromYear);
+        double toMjd = startOfYear(toYear + 1);
+        long sunFirst = (long) floor(fromMjd / SUN_SPAN);
+        int sunCount = (int) ((long) floor(toMjd / SUN_SPAN) - sunFirst + 1);
+        long moonFirst = (long) floor(fromMjd / MOON_SPAN);
+        int moonCount = (int) ((long) floor(toMjd / MOON_SPAN) - moonFirst + 1);
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writeHeader(out, SUN_SPAN, sunFirst, sunCount, SUN_NODES);
+            writeHeader(out, MOON_SPAN, moonFirst, moonCount, MOON_NODES);
+
+            for (long index = sunFirst; index < sunFirst + sunCount; index++) {
+                writeCoefficients(out, fitSun(
+                        intervalStart(index, SUN_SPAN),
+                        intervalStart(index + 1, SUN_SPAN)));
+            }
+
+            for (long index = moonFirst; index < moonFirst + moonCount; index++) {
+                writeCoefficients(out, fitMoon(
+                        intervalStart(index, MOON_SPAN),
+                        intervalStart(index + 1, MOON_SPAN)));
+            }
+        }
+    }
+
+    /**
+     * Opens an ephemeris file that was generated by {@link #write(Path, int, int)}.
+     *
+     * @param file
+     *            {@link Path} of the file
+     * @return {@link EphemerisFile} that serves positions from the file
+     * @throws IOException
+     *             if the file could not be read, or is not a valid ephemeris file
+     */
+    public static EphemerisFile open(Path file) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.limit() < HEADER_SIZE
+                || buffer.getInt(0) != MAGIC
+                || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not an ephemeris file: " + file);
+        }
+
+        buffer.position(HEADER_SIZE);
+        DoubleBuffer data = buffer.slice().asDoubleBuffer();
+
+        Table sun = new Table(buffer, 8, 1, data, 0);
+        if (sun.size() > data.limit()) {
+            throw new IOException("Bad ephemeris file size: " + file);
+        }
+        Table moon = new Table(buffer, 32, 3, data, (int) sun.size());
+        if (sun.size() + moon.size() != data.limit()) {
+            throw new IOException("Bad ephemeris file size: " + file);
+        }
+
+        return new EphemerisFile(sun, moon);
+    }
+
+    /**
+     * Calculates the equatorial position of the sun.
+     *
+     * @param date
+     *            {@link JulianDate} to be used
+     * @return {@link Vector} containing the sun position
+     * @see ChebyshevEphemeris#sunPositionEquatorial(JulianDate)
+     */
+    public Vector sunPositionEquatorial(JulianDate date) {
+        int interval = sun.interval(date.getModifiedJulianDate());
+        if (interval < 0) {
+            return Sun.positionEquatorial(date);
+        }
+        double T = date.getJulianCentury();
+        return Vector.ofPolar(wrap(sun.evaluate(interval, 0, T)), 0.0, Sun.distance(date));
+    }
+
+    /**
+     * Calculates the equatorial position of the moon.
+     *
+     * @param date
+     *            {@link JulianDate} to be used
+     * @return {@link Vector} of equatorial moon position
+     * @see ChebyshevEphemeris#moonPositionEquatorial(JulianDate)
+     */
+    public Vector moonPositionEquatorial(JulianDate date) {
+        int interval = moon.interval(date.getModifiedJulianDate());
+        if (interval < 0) {
+            return Moon.positionEquatorial(date);
+        }
+        double T = date.getJulianCentury();
+        return Vector.ofPolar(
+                wrap(moon.evaluate(interval, 0, T)),
+                moon.evaluate(interval, 1, T),
+                moon.evaluate(interval, 2, T));
+    }
+
+    private static double startOfYear(int year) {
+        return new JulianDate(ZonedDateTime.of(year, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC))
+                .getModifiedJulianDate();
+    }
+
+    private static void writeHeader(DataOutputStream out, double span, long first, int count, int nodes)
+            throws IOException {
+        out.writeDouble(span);
+        out.writeLong(first);
+        out.writeInt(count);
+        out.writeInt(nodes);
+    }
+
+    private static void writeCoefficients(DataOutputStream out, Chebyshev[] fits) throws IOException {
+        for (Chebyshev fit : fits) {
+            for (double c : fit.getCoefficients()) {
+                out.writeDouble(c);
+            }
+        }
+    }
+
+    /**
+     * The intervals of a single body within the file.
+     */
+    private static final class Table {
+        private final double span;
+        private final long first;
+        private final int count;
+        private final int nodes;
+        private final int polynomials;
+        private final DoubleBuffer data;
+        private final int start;
+
+        public Table(ByteBuffer header, int position, int polynomials, DoubleBuffer data, int start)
+                throws IOException {
+            this.span = header.getDouble(position);
+            this.first = header.getLong(position + 8);
+            this.count = header.getInt(position + 16);
+            this.nodes = header.getInt(position + 20);
+            this.polynomials = polynomials;
+            this.data = data;
+            this.start = start;
+
+            if (!(span > 0.0) || count < 0 || nodes <= 0) {
+                throw new IOException("Bad ephemeris file header");
+            }
+        }
+
+        /**
+         * Returns the number of coefficients of this table.
+         */
+        public long size() {
+            return (long) count * polynomials * nodes;
+        }
+
+        /**
+         * Returns the number of the interval covering the given modified Julian date,
+         * or -1 if the date is not covered by this table.
+         */
+        public int interval(double mjd) {
+            long index = (long) floor(mjd / span) - first;
+            if (index < 0 || index >= count) {
+                return -1;
+            }
+            return (int) index;
+        }
+
+        /**
+         * Evaluates a polynomial of an interval.
+         *
+         * @param interval
+         *            Number of the interval, see {@link #interval(double)}
+         * @param polynomial
+         *            Index of the polynomial within the interval
+         * @param T
+         *            Julian century to evaluate
+         * @return Evaluated polynomial
+         */
+        public double evaluate(int interval, int polynomial, double T) {
+            long index = first + interval;
+            int offset = start + (interval * polynomials + polynomial) * nodes;
+            return Chebyshev.evaluate(data, offset, nodes,
+                    intervalStart(index, span), intervalStart(index + 1, span), T);
+        }
+    }
+
+}
@@ -15,8 +15,7 @@ package org.shredzone.commons.suncalc.util;
 
 import static java.lang.Math.*;
 
-import java.util.Comparator;
-import java.util.function.Function;
+import java.util.function.DoubleUnaryOperator;
 
 /**
  * Contains constants and mathematical operations that are not available in {@link Math}.
@@ -43,6 +42,17 @@ public final class ExtendedMath {
      */
     public static final double REFRACTION_AT_HORIZON = PI / (tan(toRadians(7.31 / 4.4)) * 10800.0);
 
+    /**
+     * Maximum rotation rate of the earth relative to the celestial bodies, in radians
+     * per hour. It contains a small margin.
+     */
+    private static final double EARTH_ROTATION_RATE = toRadians(15.05);
+
+    /**
+     * Golden section ratio, (3 - sqrt(5)) / 2.
+     */
+    private static final double GOLDEN_SECTION = (3.0 - sqrt(5.0)) / 2.0;
+
     private ExtendedMath() {
         // utility class without constructor
     }
@@ -58,6 +68,22 @@ public final class ExtendedMath {
         return a % 1.0;
     }
 
+    /**
+     * Brings a longitude into the range of -π (inclusive) to π (exclusive).
+     *
+     * @param lng
+     *            Longitude, in radians
+     * @return Normalized longitude, in radians
+     * @since 3.12
+     */
+    public static double normalizeLongitude(double lng) {
+        double result = (lng + PI) % PI2;
+        if (result < 0.0) {
+            result += PI2;
+        }
+        return result - PI;
+    }
+
     /**
      * Performs a safe check if the given double is actually zero (0.0).
      * <p>
@@ -87,7 +113,21 @@ public final class ExtendedMath {
      * @return {@link Vector} containing the horizontal coordinates
      */
     public static Vector equatorialToHorizontal(double tau, double dec, double dist, double lat) {
-        return Matrix.rotateY(PI / 2.0 - lat).multiply(Vector.ofPolar(tau, dec, dist));
+        return equatorialToHorizontal(lat).multiply(Vector.ofPolar(tau, dec, dist));
+    }
+
+    /**
+     * Creates a rotational {@link Matrix} for converting equatorial to horizontal
+     * coordinates. The matrix only depends on the observer's latitude, so it can be
+     * reused for all computations at the same location.
+     *
+     * @param lat
+     *            Latitude of the observer (radians)
+     * @return {@link Matrix} for converting equatorial to horizontal coordinates
+     * @since 3.12
+     */
+    public static Matrix equatorialToHorizontal(double lat) {
+        return Matrix.rotateY(PI / 2.0 - lat);
     }
 
     /**
@@ -167,6 +207,75 @@ public final class ExtendedMath {
         return 0.000296706 / tan(h + 0.00312537 / (h + 0.0890118));
     }
 
+    /**
+     * Returns the maximum rate of change of the height of a celestial body, in radians
+     * per hour.
+     * <p>
+     * The height changes by the earth rotation at a rate of at most cos(lat) times the
+     * rotation rate, and by the body's own motion on the sky. Both rates contain a
+     * margin.
+     * <p>
+     * If the height at the leading edge of an interpolation window is {@code n} times
+     * this rate away from the limit, the body cannot cross it in the next {@code n}
+     * hours. The samples of all interpolation windows within that time have the same
+     * sign and are at least a quarter of the rate away from zero, so none of them can
+     * have a root, and they can be skipped.
+     *
+     * @param lat
+     *            Latitude, in radians
+     * @param motionRate
+     *            Maximum rate of the body's own motion, in radians per hour
+     * @return Maximum rate, in radians per hour
+     */
+    public static double maxHeightRate(double lat, double motionRate) {
+        return EARTH_ROTATION_RATE * cos(lat) + motionRate;
+    }
+
+    /**
+     * Returns the number of hours that can be skipped, because the height of a
+     * celestial body cannot cross the limit.
+     * <p>
+     * Besides the {@link #maxHeightRate(double, double)}, the height is limited by the
+     * heights of the upper and lower culmination, which only depend on the declination.
+     * They change by the body's own motion only, so at high latitudes, the days can be
+     * skipped when the body stays above or below the limit.
+     *
+     * @param pos
+     *            Horizontal position of the body
+     * @param y
+     *            Height of the body above the limit, in radians
+     * @param lat
+     *            Latitude, in radians
+     * @param maxRate
+     *            Maximum rate of change of the height, see
+     *            {@link #maxHeightRate(double, double)}
+     * @param motionRate
+     *            Maximum rate of the body's own motion, in radians per hour
+     * @param toEquatorial
+     *            {@link Matrix} converting horizontal to equatorial coordinates
+     * @return Number of hours to skip
+     */
+    public static int skipHours(Vector pos, double y, double lat, double maxRate,
+            double motionRate, Matrix toEquatorial) {
+        int skip = (int) floor(abs(y) / maxRate);
+
+        double dec = toEquatorial.multiply(pos).getTheta();
+        double distance;
+        if (y < 0.0) {
+            // distance of the upper culmination below the limit
+            distance = pos.getTheta() - (PI / 2.0 - abs(lat - dec)) - y;
+        } else {
+            // distance of the lower culmination above the limit
+            distance = y + (abs(lat + dec) - PI / 2.0) - pos.getTheta();
+        }
+        double margin = distance - maxRate / 4.0;
+        if (margin > 0.0) {
+            skip = max(skip, (int) floor(margin / motionRate));
+        }
+
+        return skip;
+    }
+
     /**
      * Converts dms to double.
      *
@@ -187,80 +296,153 @@ public final class ExtendedMath {
      * Locates the true maximum within the given time frame.
      *
      * @param time
-     *         Base time
+     *         Base time, which is the estimated time of the maximum
      * @param frame
      *         Time frame, which is added to and subtracted from the base time for the
      *         interval
      * @param depth
-     *         Maximum recursion depth. For each recursion, the function is invoked once.
+     *         Precision, as number of halving steps of the interval. The result is
+     *         as precise as if the interval had been halved that many times.
      * @param f
      *         Function to be used for calculation
      * @return time of the true maximum
      */
-    public static double readjustMax(double time, double frame, int depth, Function<Double, Double> f) {
-        double left = time - frame;
-        double right = time + frame;
-        double leftY = f.apply(left);
-        double rightY = f.apply(right);
-
-        return readjustInterval(left, right, leftY, rightY, depth, f, Double::compare);
+    public static double readjustMax(double time, double frame, int depth, DoubleUnaryOperator f) {
+        return readjustInterval(time, frame, depth, f, true);
     }
 
     /**
      * Locates the true minimum within the given time frame.
      *
      * @param time
-     *         Base time
+     *         Base time, which is the estimated time of the minimum
      * @param frame
      *         Time frame, which is added to and subtracted from the base time for the
      *         interval
      * @param depth
-     *         Maximum recursion depth. For each recursion, the function is invoked once.
+     *         Precision, as number of halving steps of the interval. The result is
+     *         as precise as if the interval had been halved that many times.
      * @param f
      *         Function to be used for calculation
      * @return time of the true minimum
      */
-    public static double readjustMin(double time, double frame, int depth, Function<Double, Double> f) {
-        double left = time - frame;
-        double right = time + frame;
-        double leftY = f.apply(left);
-        double rightY = f.apply(right);
-
-        return readjustInterval(left, right, leftY, rightY, depth, f, (yl, yr) -> Double.compare(yr, yl));
+    public static double readjustMin(double time, double frame, int depth, DoubleUnaryOperator f) {
+        return readjustInterval(time, frame, depth, f, false);
     }
 
     /**
-     * Recursively find the true maximum/minimum within the given time frame.
+     * Finds the true maximum/minimum within the given time frame, using Brent's method.
+     * <p>
+     * The search starts with a parabola through the base time and two close points.
+     * If the base time is a good estimation, the extremum is found after a few
+     * parabolic steps. Otherwise golden section steps are used, which shrink the
+     * interval reliably.
      *
-     * @param left
-     *         Left interval border
-     * @param right
-     *         Right interval border
-     * @param yl
-     *         Function result at the left interval
-     * @param yr
-     *         Function result at the right interval
+     * @param time
+     *         Base time
+     * @param frame
+     *         Time frame, which is added to and subtracted from the base time for the
+     *         interval
      * @param depth
-     *         Maximum recursion depth. For each recursion, the function is invoked once.
+     *         Precision, as number of halving steps of the interval
      * @param f
      *         Function to invoke
-     * @param cmp
-     *         Comparator to decide whether the left or right side of the interval half is
-     *         to be used
+     * @param maximum
+     *         {@code true} to find the maximum, {@code false} to find the minimum
      * @return Position of the approximated minimum/maximum
+     * @see <a href="https://en.wikipedia.org/wiki/Brent%27s_method">Wikipedia: Brent's
+     *      method</a>
      */
-    private static double readjustInterval(double left, double right, double yl, double yr, int depth,
-                                           Function<Double, Double> f, Comparator<Double> cmp) {
-        if (depth <= 0) {
-            return (cmp.compare(yl, yr) < 0) ? right : left;
+    private static double readjustInterval(double time, double frame, int depth,
+                                           DoubleUnaryOperator f, boolean maximum) {
+        double sign = maximum ? -1.0 : 1.0;     // the minimum of sign * f is searched
+        double tol = frame / pow(2.0, depth + 4);
+        double h = frame / 8.0;
+
+        double a = time - frame;
+        double b = time + frame;
+
+        double x = time;
+        double w = time - h;
+        double v = time + h;
+        double fx = sign * f.applyAsDouble(x);
+        double fw = sign * f.applyAsDouble(w);
+        double fv = sign * f.applyAsDouble(v);
+        if (fw < fx) {
+            double t = x; x = w; w = t;
+            t = fx; fx = fw; fw = t;
+        }
+        if (fv < fx) {
+            double t = x; x = v; v = t;
+            t = fx; fx = fv; fv = t;
+        }
+        if (fx <= fw && fx <= fv && x == time) {
+            // The extremum is bracketed by the two close points
+            a = time - h;
+            b = time + h;
         }
 
-        double middle = (left + right) / 2.0;
-        double ym = f.apply(middle);
-        if (cmp.compare(yl, yr) < 0) {
-            return readjustInterval(middle, right, ym, yr, depth - 1, f, cmp);
-        } else {
-            return readjustInterval(left, middle, yl, ym, depth - 1, f, cmp);
+        double d = 0.0;
+        double e = 2.0 * h;     // permits a parabolic step first
+
+        while (true) {
+            double xm = (a + b) / 2.0;
+            double tol2 = 2.0 * tol;
+            if (abs(x - xm) <= tol2 - (b - a) / 2.0) {
+                return x;
+            }
+
+            boolean golden = true;
+            if (abs(e) > tol) {
+                double r = (x - w) * (fx - fv);
+                double q = (x - v) * (fx - fw);
+                double p = (x - v) * q - (x - w) * r;
+                q = 2.0 * (q - r);
+                if (q > 0.0) {
+                    p = -p;
+                }
+                q = abs(q);
+                double etemp = e;
+                e = d;
+                if (abs(p) < abs(0.5 * q * etemp) && p > q * (a - x) && p < q * (b - x)) {
+                    d = p / q;
+                    double u = x + d;
+                    if (u - a < tol2 || b - u < tol2) {
+                        d = copySign(tol, xm - x);
+                    }
+                    golden = false;
+                }
+            }
+            if (golden) {
+                e = x >= xm ? a - x : b - x;
+                d = GOLDEN_SECTION * e;
+            }
+
+            double u = abs(d) >= tol ? x + d : x + copySign(tol, d);
+            double fu = sign * f.applyAsDouble(u);
+
+            if (fu <= fx) {
+                if (u >= x) {
+                    a = x;
+                } else {
+                    b = x;
+                }
+                v = w; fv = fw;
+                w = x; fw = fx;
+                x = u; fx = fu;
+            } else {
+                if (u < x) {
+                    a = u;
+                } else {
+                    b = u;
+                }
+                if (fu <= fw || w == x) {
+                    v = w; fv = fw;
+                    w = u; fw = fu;
+                } else if (fu <= fv || v == x || v == w) {
+                    v = u; fv = fu;
+                }
+            }
         }
     }
 
@@ -14,22 +14,35 @@
 package org.shredzone.commons.suncalc.util;
 
 import static java.lang.Math.floor;
+import static java.lang.Math.floorDiv;
+import static java.lang.Math.floorMod;
 import static java.lang.Math.round;
 import static org.shredzone.commons.suncalc.util.ExtendedMath.PI2;
 import static org.shredzone.commons.suncalc.util.ExtendedMath.frac;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
 import java.util.Objects;
 
 /**
  * This class contains a Julian Date representation of a date.
  * <p>
+ * Internally, the date is stored as a primitive instant. Deriving new dates via
+ * {@link #atHour(double)}, {@link #atModifiedJulianDate(double)} or
+ * {@link #atJulianCentury(double)} is pure arithmetics. A {@link ZonedDateTime} is only
+ * created when {@link #getDateTime()} is invoked.
+ * <p>
  * Objects are immutable and threadsafe.
  */
 public class JulianDate {
 
-    private final ZonedDateTime dateTime;
+    private final long epochSecond;
+    private final int nano;
+    private final ZoneWindow zone;
     private final double mjd;
 
     /**
@@ -39,8 +52,18 @@ public class JulianDate {
      *            {@link ZonedDateTime} to use for the date.
      */
     public JulianDate(ZonedDateTime time) {
-        dateTime = Objects.requireNonNull(time, "time");
-        mjd = dateTime.toInstant().toEpochMilli() / 86400000.0 + 40587.0;
+        Objects.requireNonNull(time, "time");
+        this.epochSecond = time.toEpochSecond();
+        this.nano = time.getNano();
+        this.zone = ZoneWindow.of(time.getZone(), epochSecond);
+        this.mjd = toModifiedJulianDate(epochSecond, nano);
+    }
+
+    private JulianDate(long epochSecond, int nano, ZoneWindow zone) {
+        this.epochSecond = epochSecond;
+        this.nano = nano;
+        this.zone = zone.at(epochSecond);
+        this.mjd = toModifiedJulianDate(epochSecond, nano);
     }
 
     /**
@@ -52,7 +75,38 @@ public class JulianDate {
      * @return {@link JulianDate} instance.
      */
     public JulianDate atHour(double hour) {
-        return new JulianDate(dateTime.plusSeconds(round(hour * 60.0 * 60.0)));
+        return new JulianDate(epochSecond + round(hour * 60.0 * 60.0), nano, zone);
+    }
+
+    /**
+     * Returns a {@link JulianDate} of the current date and the given hour. Unlike
+     * {@link #atHour(double)}, the time is not rounded to full seconds, so functions of
+     * the time are continuous.
+     *
+     * @param hour
+     *            Hour of this date. This is a floating point value. Fractions are used
+     *            for minutes, seconds and nanoseconds.
+     * @return {@link JulianDate} instance.
+     * @since 3.12
+     */
+    public JulianDate atExactHour(double hour) {
+        long nanos = nano + round(hour * 60.0 * 60.0 * 1000000000.0);
+        return new JulianDate(epochSecond + floorDiv(nanos, 1000000000L),
+                (int) floorMod(nanos, 1000000000L), zone);
+    }
+
+    /**
+     * Returns a {@link JulianDate} that is the given {@link Duration} after this date.
+     *
+     * @param duration
+     *            {@link Duration} to add. May be negative.
+     * @return {@link JulianDate} instance.
+     * @since 3.12
+     */
+    public JulianDate plus(Duration duration) {
+        long nanos = (long) nano + duration.getNano();
+        return new JulianDate(epochSecond + duration.getSeconds() + nanos / 1000000000L,
+                (int) (nanos % 1000000000L), zone);
     }
 
     /**
@@ -63,8 +117,8 @@ public class JulianDate {
      * @return {@link JulianDate} instance.
      */
     public JulianDate atModifiedJulianDate(double mjd) {
-        Instant mjdi = Instant.ofEpochMilli(Math.round((mjd - 40587.0) * 86400000.0));
-        return new JulianDate(ZonedDateTime.ofInstant(mjdi, dateTime.getZone()));
+        long millis = round((mjd - 40587.0) * 86400000.0);
+        return new JulianDate(floorDiv(millis, 1000L), (int) floorMod(millis, 1000L) * 1000000, zone);
     }
 
     /**
@@ -84,7 +138,7 @@ public class JulianDate {
      * @return {@link ZonedDateTime} of this {@link JulianDate}.
      */
     public ZonedDateTime getDateTime() {
-        return dateTime;
+        return ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nano), zone.getZone());
     }
 
     /**
@@ -134,7 +188,8 @@ public class JulianDate {
      * @return True anomaly, in radians
      */
     public double getTrueAnomaly() {
-        return PI2 * frac((dateTime.getDayOfYear() - 5.0) / 365.256363);
+        long localEpochDay = floorDiv(epochSecond + zone.getOffset(), 86400L);
+        return PI2 * frac((dayOfYear(localEpochDay) - 5.0) / 365.256363);
     }
 
     @Override
@@ -146,4 +201,105 @@ public class JulianDate {
                 (long) (mjd * 24 * 60 * 60 % 60));
     }
 
+    /**
+     * Converts an instant to the Modified Julian Date.
+     *
+     * @param epochSecond
+     *            Seconds since epoch
+     * @param nano
+     *            Nanoseconds of the second
+     * @return Modified Julian Date, UTC. The precision is truncated to milliseconds.
+     */
+    private static double toModifiedJulianDate(long epochSecond, int nano) {
+        return (epochSecond * 1000L + nano / 1000000) / 86400000.0 + 40587.0;
+    }
+
+    /**
+     * Returns the day of year of the given epoch day.
+     *
+     * @param epochDay
+     *            Days since epoch
+     * @return Day of year, starting with 1 on January 1st.
+     * @see <a href="https://howardhinnant.github.io/date_algorithms.html">chrono-Compatible
+     *      Low-Level Date Algorithms</a>
+     */
+    static int dayOfYear(long epochDay) {
+        long z = epochDay + 719468L;        // days since 0000-03-01
+        long era = floorDiv(z, 146097L);
+        long doe = z - era * 146097L;       // day of era [0, 146096]
+        long yoe = (doe - doe / 1460L + doe / 36524L - doe / 146096L) / 365L;
+        long doy = doe - (365L * yoe + yoe / 4L - yoe / 100L); // March based [0, 365]
+
+        if (doy >= 306L) {
+            // January and February belong to the following year
+            return (int) (doy - 305L);
+        }
+
+        long year = yoe + era * 400L;
+        boolean leap = (year % 4L == 0L) && (year % 100L != 0L || year % 400L == 0L);
+        return (int) (doy + (leap ? 60L : 59L) + 1L);
+    }
+
+    /**
+     * A time zone and its offset, along with the time span the offset is valid for.
+     * <p>
+     * Derived {@link JulianDate} instances share this object as long as the offset does
+     * not change, so the zone rules are only consulted on transitions.
+     */
+    private static final class ZoneWindow {
+        private final ZoneId zone;
+        private final int offset;
+        private final long validFrom;
+        private final long validUntil;
+
+        private ZoneWindow(ZoneId zone, int offset, long validFrom, long validUntil) {
+            this.zone = zone;
+            this.offset = offset;
+            this.validFrom = validFrom;
+            this.validUntil = validUntil;
+        }
+
+        /**
+         * Creates a new {@link ZoneWindow} for the given zone, that is valid at the given
+         * instant.
+         */
+        static ZoneWindow of(ZoneId zone, long epochSecond) {
+            ZoneRules rules = zone.getRules();
+            if (rules.isFixedOffset()) {
+                return new ZoneWindow(zone, rules.getOffset(Instant.EPOCH).getTotalSeconds(),
+                        Long.MIN_VALUE, Long.MAX_VALUE);
+            }
+
+            Instant instant = Instant.ofEpochSecond(epochSecond);
+            // previousTransition() is exclusive, so a transition at the instant is found too
+            ZoneOffsetTransition prev = rules.previousTransition(instant.plusSeconds(1L));
+            ZoneOffsetTransition next = rules.nextTransition(instant);
+            return new ZoneWindow(zone, rules.getOffset(instant).getTotalSeconds(),
+                    prev != null ? prev.toEpochSecond() : Long.MIN_VALUE,
+                    next != null ? next.toEpochSecond() : Long.MAX_VALUE);
+        }
+
+        /**
+         * Returns a {@link ZoneWindow} that is valid at the given instant. It is this
+         * object if the instant is within the window.
+         */
+        ZoneWindow at(long epochSecond) {
+            if (epochSecond >= validFrom && epochSecond < validUntil) {
+                return this;
+            }
+            return of(zone, epochSecond);
+        }
+
+        ZoneId getZone() {
+            return zone;
+        }
+
+        /**
+         * Returns the offset to UTC, in seconds.
+         */
+        int getOffset() {
+            return offset;
+        }
+    }
+
 }
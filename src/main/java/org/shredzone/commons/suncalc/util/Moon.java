@@ -39,7 +39,17 @@ public final class Moon {
      * @return {@link Vector} of equatorial moon position
      */
     public static Vector positionEquatorial(JulianDate date) {
-        double T  = date.getJulianCentury();
+        return positionEquatorial(date.getJulianCentury());
+    }
+
+    /**
+     * Calculates the equatorial position of the moon.
+     *
+     * @param T
+     *            Julian century
+     * @return {@link Vector} of equatorial moon position
+     */
+    static Vector positionEquatorial(double T) {
         double L0 =       frac(0.606433 + 1336.855225 * T);
         double l  = PI2 * frac(0.374897 + 1325.552410 * T);
         double ls = PI2 * frac(0.993133 +   99.997361 * T);
@@ -94,8 +104,22 @@ public final class Moon {
      * @return {@link Vector} of geocentric moon position
      */
     public static Vector position(JulianDate date) {
+        return position(date, Ephemeris.SERIES);
+    }
+
+    /**
+     * Calculates the geocentric position of the moon.
+     *
+     * @param date
+     *            {@link JulianDate} to be used
+     * @param ephemeris
+     *            {@link Ephemeris} to be used
+     * @return {@link Vector} of geocentric moon position
+     * @since 3.12
+     */
+    public static Vector position(JulianDate date, Ephemeris ephemeris) {
         Matrix rotateMatrix = equatorialToEcliptical(date).transpose();
-        return rotateMatrix.multiply(positionEquatorial(date));
+        return rotateMatrix.multiply(ephemeris.moonPositionEquatorial(date));
     }
 
     /**
@@ -110,7 +134,25 @@ public final class Moon {
      * @return {@link Vector} of horizontal moon position
      */
     public static Vector positionHorizontal(JulianDate date, double lat, double lng) {
-        Vector mc = position(date);
+        return positionHorizontal(date, lat, lng, Ephemeris.SERIES);
+    }
+
+    /**
+     * Calculates the horizontal position of the moon.
+     *
+     * @param date
+     *            {@link JulianDate} to be used
+     * @param lat
+     *            Latitude, in radians
+     * @param lng
+     *            Longitute, in radians
+     * @param ephemeris
+     *            {@link Ephemeris} to be used
+     * @return {@link Vector} of horizontal moon position
+     * @since 3.12
+     */
+    public static Vector positionHorizontal(JulianDate date, double lat, double lng, Ephemeris ephemeris) {
+        Vector mc = position(date, ephemeris);
         double h = date.getGreenwichMeanSiderealTime() + lng - mc.getPhi();
         return equatorialToHorizontal(h, mc.getTheta(), mc.getR(), lat);
     }
@@ -132,7 +174,30 @@ public final class Moon {
      * @since 3.9
      */
     public static Vector positionTopocentric(JulianDate date, double lat, double lng, double elev) {
-        Vector pos = positionHorizontal(date, lat, lng);
+        return positionTopocentric(date, lat, lng, elev, Ephemeris.SERIES);
+    }
+
+    /**
+     * Calculates the topocentric position of the moon.
+     * <p>
+     * Atmospheric refraction is <em>not</em> taken into account.
+     *
+     * @param date
+     *            {@link JulianDate} to be used
+     * @param lat
+     *            Latitude, in radians
+     * @param lng
+     *            Longitute, in radians
+     * @param elev
+     *            Elevation, in meters
+     * @param ephemeris
+     *            {@link Ephemeris} to be used
+     * @return {@link Vector} of topocentric moon position
+     * @since 3.12
+     */
+    public static Vector positionTopocentric(JulianDate date, double lat, double lng, double elev,
+            Ephemeris ephemeris) {
+        Vector pos = positionHorizontal(date, lat, lng, ephemeris);
         return Vector.ofPolar(
                 pos.getPhi(),
                 pos.getTheta() - parallax(elev, pos.getR()),
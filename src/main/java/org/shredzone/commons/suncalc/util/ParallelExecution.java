@@ -0,0 +1,121 @@
+/*
+ * Shredzone Commons - suncalc
+ *
+ * Copyright (C) 2026 Richard "Shred" Körber
+ *   http://commons.shredzone.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ */
+package org.shredzone.commons.suncalc.util;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Splits batch computations into chunks, and executes them in parallel.
+ * <p>
+ * Each chunk covers a consecutive range of indexes, so every task only accesses its own
+ * section of the input and result arrays. The results are therefore independent of the
+ * order of execution.
+ */
+public final class ParallelExecution {
+
+    /**
+     * Number of indexes per chunk. Small enough to keep the array sections of a chunk
+     * in the CPU cache, and large enough to keep the scheduling overhead low.
+     */
+    public static final int CHUNK_SIZE = 2048;
+
+    private ParallelExecution() {
+        // Utility class without constructor
+    }
+
+    /**
+     * Computes a range of indexes.
+     */
+    @FunctionalInterface
+    public interface Range {
+
+        /**
+         * Computes all indexes of the range.
+         *
+         * @param from
+         *            First index, inclusive
+         * @param to
+         *            Last index, exclusive
+         */
+        void compute(int from, int to);
+    }
+
+    /**
+     * Computes all indexes from 0 to {@code count}, and returns when all computations
+     * are completed.
+     * <p>
+     * The last chunk is computed by the invoking thread, all other chunks are passed to
+     * the {@link Executor}.
+     *
+     * @param executor
+     *            {@link Executor} that computes the chunks
+     * @param count
+     *            Number of indexes. Nothing is computed if it is not positive.
+     * @param range
+     *            {@link Range} that computes a chunk
+     */
+    public static void execute(Executor executor, int count, Range range) {
+        Objects.requireNonNull(executor, "executor");
+        Objects.requireNonNull(range, "range");
+
+        if (count <= 0) {
+            return;
+        }
+
+        if (count <= CHUNK_SIZE) {
+            range.compute(0, count);
+            return;
+        }
+
+        int chunks = (count - 1) / CHUNK_SIZE + 1;
+        AtomicBoolean failed = new AtomicBoolean();
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[chunks - 1];
+        for (int ix = 0; ix < futures.length; ix++) {
+            int from = ix * CHUNK_SIZE;
+            futures[ix] = CompletableFuture.runAsync(() -> {
+                if (!failed.get()) {
+                    range.compute(from, from + CHUNK_SIZE);
+                }
+            }, executor);
+        }
+
+        try {
+            range.compute(futures.length * CHUNK_SIZE, count);
+        } catch (RuntimeException | Error ex) {
+            // Skip the pending chunks, and wait for the running ones, so no chunk
+            // writes into the result arrays after returning.
+            failed.set(true);
+            CompletableFuture.allOf(futures).exceptionally(t -> null).join();
+            throw ex;
+        }
+
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw ex;
+        }
+    }
+
+}
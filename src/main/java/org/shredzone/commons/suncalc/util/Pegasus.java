@@ -15,7 +15,7 @@ package org.shredzone.commons.suncalc.util;
 
 import static java.lang.Math.abs;
 
-import java.util.function.Function;
+import java.util.function.DoubleUnaryOperator;
 
 /**
  * Finds the root of a function by using the Pegasus method.
@@ -42,12 +42,12 @@ public class Pegasus {
      *             if the root could not be found in the given accuracy within
      *             {@value #MAX_ITERATIONS} iterations.
      */
-    public static Double calculate(double lower, double upper, double accuracy, Function<Double, Double> f) {
+    public static double calculate(double lower, double upper, double accuracy, DoubleUnaryOperator f) {
         double x1 = lower;
         double x2 = upper;
 
-        double f1 = f.apply(x1);
-        double f2 = f.apply(x2);
+        double f1 = f.applyAsDouble(x1);
+        double f2 = f.applyAsDouble(x2);
 
         if (f1 * f2 >= 0.0) {
             throw new ArithmeticException("No root within the given boundaries");
@@ -57,7 +57,7 @@ public class Pegasus {
 
         while (i-- > 0) {
             double x3 = x2 - f2 / ((f2 - f1) / (x2 - x1));
-            double f3 = f.apply(x3);
+            double f3 = f.applyAsDouble(x3);
 
             if (f3 * f2 <= 0.0) {
                 x1 = x2;
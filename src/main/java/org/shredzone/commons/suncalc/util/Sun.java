@@ -40,15 +40,32 @@ public final class Sun {
      * @return {@link Vector} containing the sun position
      */
     public static Vector positionEquatorial(JulianDate date) {
-        double T = date.getJulianCentury();
+        return Vector.ofPolar(longitude(date.getJulianCentury()), 0.0, distance(date));
+    }
+
+    /**
+     * Calculates the ecliptic longitude of the sun.
+     *
+     * @param T
+     *            Julian century
+     * @return Longitude, in radians
+     */
+    static double longitude(double T) {
         double M = PI2 * frac(0.993133 + 99.997361 * T);
-        double L = PI2 * frac(0.7859453 + M / PI2
+        return PI2 * frac(0.7859453 + M / PI2
             + (6893.0 * sin(M) + 72.0 * sin(2.0 * M) + 6191.2 * T) / 1296.0e3);
+    }
 
-        double d = SUN_DISTANCE
+    /**
+     * Calculates the distance of the sun.
+     *
+     * @param date
+     *            {@link JulianDate} to be used
+     * @return Distance, in kilometers
+     */
+    static double distance(JulianDate date) {
+        return SUN_DISTANCE
             * (1 - 0.016718 * cos(date.getTrueAnomaly()));
-
-        return Vector.ofPolar(L, 0.0, d);
     }
 
     /**
@@ -59,8 +76,22 @@ public final class Sun {
      * @return {@link Vector} containing the sun position
      */
     public static Vector position(JulianDate date) {
+        return position(date, Ephemeris.SERIES);
+    }
+
+    /**
+     * Calculates the geocentric position of the sun.
+     *
+     * @param date
+     *            {@link JulianDate} to be used
+     * @param ephemeris
+     *            {@link Ephemeris} to be used
+     * @return {@link Vector} containing the sun position
+     * @since 3.12
+     */
+    public static Vector position(JulianDate date, Ephemeris ephemeris) {
         Matrix rotateMatrix = equatorialToEcliptical(date).transpose();
-        return rotateMatrix.multiply(positionEquatorial(date));
+        return rotateMatrix.multiply(ephemeris.sunPositionEquatorial(date));
     }
 
     /**
@@ -75,7 +106,25 @@ public final class Sun {
      * @return {@link Vector} of horizontal sun position
      */
     public static Vector positionHorizontal(JulianDate date, double lat, double lng) {
-        Vector mc = position(date);
+        return positionHorizontal(date, lat, lng, Ephemeris.SERIES);
+    }
+
+    /**
+     * Calculates the horizontal position of the sun.
+     *
+     * @param date
+     *            {@link JulianDate} to be used
+     * @param lat
+     *            Latitude, in radians
+     * @param lng
+     *            Longitute, in radians
+     * @param ephemeris
+     *            {@link Ephemeris} to be used
+     * @return {@link Vector} of horizontal sun position
+     * @since 3.12
+     */
+    public static Vector positionHorizontal(JulianDate date, double lat, double lng, Ephemeris ephemeris) {
+        Vector mc = position(date, ephemeris);
         double h = date.getGreenwichMeanSiderealTime() + lng - mc.getPhi();
         return equatorialToHorizontal(h, mc.getTheta(), mc.getR(), lat);
     }
@@ -97,7 +146,30 @@ public final class Sun {
      * @since 3.9
      */
     public static Vector positionTopocentric(JulianDate date, double lat, double lng, double elev) {
-        Vector pos = positionHorizontal(date, lat, lng);
+        return positionTopocentric(date, lat, lng, elev, Ephemeris.SERIES);
+    }
+
+    /**
+     * Calculates the topocentric position of the sun.
+     * <p>
+     * Atmospheric refraction is <em>not</em> taken into account.
+     *
+     * @param date
+     *            {@link JulianDate} to be used
+     * @param lat
+     *            Latitude, in radians
+     * @param lng
+     *            Longitute, in radians
+     * @param elev
+     *            Elevation, in meters
+     * @param ephemeris
+     *            {@link Ephemeris} to be used
+     * @return {@link Vector} of topocentric sun position
+     * @since 3.12
+     */
+    public static Vector positionTopocentric(JulianDate date, double lat, double lng, double elev,
+            Ephemeris ephemeris) {
+        Vector pos = positionHorizontal(date, lat, lng, ephemeris);
         return Vector.ofPolar(
                 pos.getPhi(),
                 pos.getTheta() - parallax(elev, pos.getR()),
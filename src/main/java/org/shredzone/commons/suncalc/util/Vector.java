@@ -17,11 +17,11 @@ import static java.lang.Math.*;
 import static org.shredzone.commons.suncalc.util.ExtendedMath.PI2;
 import static org.shredzone.commons.suncalc.util.ExtendedMath.isZero;
 
-import edu.umd.cs.findbugs.annotations.Nullable;
-
 /**
  * A three dimensional vector.
  * <p>
+ * The polar coordinates are computed on construction, so reading them is cheap.
+ * <p>
  * Objects are is immutable and threadsafe.
  */
 public class Vector {
@@ -29,7 +29,9 @@ public class Vector {
     private final double x;
     private final double y;
     private final double z;
-    private final Polar polar = new Polar();
+    private final double φ;
+    private final double θ;
+    private final double r;
 
     /**
      * Creates a new {@link Vector} of the given cartesian coordinates.
@@ -45,6 +47,9 @@ public class Vector {
         this.x = x;
         this.y = y;
         this.z = z;
+        this.φ = phi(x, y);
+        this.θ = theta(x, y, z);
+        this.r = radius(x, y, z);
     }
 
     /**
@@ -60,6 +65,22 @@ public class Vector {
         this.x = d[0];
         this.y = d[1];
         this.z = d[2];
+        this.φ = phi(x, y);
+        this.θ = theta(x, y, z);
+        this.r = radius(x, y, z);
+    }
+
+    /**
+     * Creates a new {@link Vector} of the given cartesian and polar coordinates. Both
+     * must describe the same vector.
+     */
+    private Vector(double x, double y, double z, double φ, double θ, double r) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.φ = φ;
+        this.θ = θ;
+        this.r = r;
     }
 
     /**
@@ -89,13 +110,12 @@ public class Vector {
      */
     public static Vector ofPolar(double φ, double θ, double r) {
         double cosθ = cos(θ);
-        Vector result = new Vector(
+        return new Vector(
             r * cos(φ) * cosθ,
             r * sin(φ) * cosθ,
-            r *          sin(θ)
+            r *          sin(θ),
+            φ, θ, r
         );
-        result.polar.setPolar(φ, θ, r);
-        return result;
     }
 
     /**
@@ -123,21 +143,21 @@ public class Vector {
      * Returns the azimuthal angle (φ) in radians.
      */
     public double getPhi() {
-        return polar.getPhi();
+        return φ;
     }
 
     /**
      * Returns the polar angle (θ) in radians.
      */
     public double getTheta() {
-        return polar.getTheta();
+        return θ;
     }
 
     /**
      * Returns the polar radial distance (r).
      */
     public double getR() {
-        return polar.getR();
+        return r;
     }
 
     /**
@@ -262,64 +282,40 @@ public class Vector {
     }
 
     /**
-     * Helper class for lazily computing the polar coordinates in an immutable Vector
-     * object.
+     * Computes the azimuthal angle (φ) of the given cartesian coordinates.
      */
-    private class Polar {
-        private @Nullable Double φ = null;
-        private @Nullable Double θ = null;
-        private @Nullable Double r = null;
-
-        /**
-         * Sets polar coordinates.
-         *
-         * @param φ
-         *            Phi
-         * @param θ
-         *            Theta
-         * @param r
-         *            R
-         */
-        public synchronized void setPolar(double φ, double θ, double r) {
-            this.φ = φ;
-            this.θ = θ;
-            this.r = r;
+    private static double phi(double x, double y) {
+        double φ;
+        if (isZero(x) && isZero(y)) {
+            φ = 0.0;
+        } else {
+            φ = atan2(y, x);
         }
 
-        public synchronized double getPhi() {
-            if (φ == null) {
-                if (isZero(x) && isZero(y)) {
-                    φ = 0.0;
-                } else {
-                    φ = atan2(y, x);
-                }
-
-                if (φ < 0.0) {
-                    φ += PI2;
-                }
-            }
-            return φ;
+        if (φ < 0.0) {
+            φ += PI2;
         }
+        return φ;
+    }
 
-        public synchronized double getTheta() {
-            if (θ == null) {
-                double ρSqr = x * x + y * y;
+    /**
+     * Computes the polar angle (θ) of the given cartesian coordinates.
+     */
+    private static double theta(double x, double y, double z) {
+        double ρSqr = x * x + y * y;
 
-                if (isZero(z) && isZero(ρSqr)) {
-                    θ = 0.0;
-                } else {
-                    θ = atan2(z, sqrt(ρSqr));
-                }
-            }
-            return θ;
+        if (isZero(z) && isZero(ρSqr)) {
+            return 0.0;
+        } else {
+            return atan2(z, sqrt(ρSqr));
         }
+    }
 
-        public synchronized double getR() {
-            if (r == null) {
-                r = sqrt(x * x + y * y + z * z);
-            }
-            return r;
-        }
+    /**
+     * Computes the polar radial distance (r) of the given cartesian coordinates.
+     */
+    private static double radius(double x, double y, double z) {
+        return sqrt(x * x + y * y + z * z);
     }
 
 }
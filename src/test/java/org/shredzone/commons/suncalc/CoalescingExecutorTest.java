@@ -0,0 +1,144 @@
+/*
+ * Shredzone Commons - suncalc
+ *
+ * Copyright (C) 2026 Richard "Shred" Körber
+ *   http://commons.shredzone.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ */
+package org.shredzone.commons.suncalc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.shredzone.commons.suncalc.Locations.COLOGNE;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link CoalescingExecutor}.
+ */
+public class CoalescingExecutorTest {
+
+    @Test
+    public void testExecute() {
+        CoalescingExecutor executor = new CoalescingExecutor();
+
+        SunTimes times = executor.execute(SunTimes.compute().on(2017, 8, 10).utc().at(COLOGNE).query());
+        assertThat(times.getRise()).as("rise").isEqualTo("2017-08-10T04:11:49Z");
+
+        MoonPhase.Parameters phaseParam = MoonPhase.compute().on(2017, 9, 1).utc();
+        MoonPhase phase = executor.execute(phaseParam.query());
+        assertThat(phase.getTime()).as("time").isEqualTo(phaseParam.execute().getTime());
+
+        assertThat(executor.execute(SunPosition.compute().on(2017, 8, 10).utc().at(COLOGNE).query())).isNotNull();
+        assertThat(executor.execute(MoonPosition.compute().on(2017, 8, 10).utc().at(COLOGNE).query())).isNotNull();
+        assertThat(executor.execute(MoonIllumination.compute().on(2017, 8, 10).utc().query())).isNotNull();
+        assertThat(executor.execute(MoonTimes.compute().on(2017, 8, 10).utc().at(COLOGNE).query())).isNotNull();
+
+        // Sequential queries are never coalesced
+        executor.execute(SunTimes.compute().on(2017, 8, 10).utc().at(COLOGNE).query());
+        assertThat(executor.getExecutions()).as("executions").isEqualTo(7L);
+        assertThat(executor.getCoalesced()).as("coalesced").isEqualTo(0L);
+        assertThat(executor.getRunning()).as("running").isEqualTo(0);
+    }
+
+    @Test
+    public void testCoalesce() throws Exception {
+        CoalescingExecutor executor = new CoalescingExecutor();
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            CompletableFuture<String> f1 = executor.executeAsync(blockingQuery("a", latch, calls), pool);
+            CompletableFuture<String> f2 = executor.executeAsync(blockingQuery("a", latch, calls), pool);
+            CompletableFuture<String> f3 = executor.executeAsync(blockingQuery("b", latch, calls), pool);
+            CompletableFuture<String> f4 = CompletableFuture.supplyAsync(
+                    () -> executor.execute(blockingQuery("a", latch, calls)), pool);
+
+            // A cancelled future does not affect the shared computation
+            f2.cancel(false);
+
+            while (executor.getCoalesced() < 2L) {
+                Thread.yield();
+            }
+            assertThat(executor.getRunning()).as("running").isEqualTo(2);
+
+            latch.countDown();
+            assertThat(f1.get()).isEqualTo("a1");
+            assertThat(f3.get()).isEqualTo("b1");
+            assertThat(f4.get()).isEqualTo("a1");
+            assertThat(calls.get()).as("calls").isEqualTo(2);
+            assertThat(executor.getExecutions()).as("executions").isEqualTo(2L);
+            assertThat(executor.getCoalesced()).as("coalesced").isEqualTo(2L);
+            assertThat(executor.getRunning()).as("running").isEqualTo(0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testException() {
+        CoalescingExecutor executor = new CoalescingExecutor();
+        Query<String> query = new Query<>(String.class, () -> {
+            throw new IllegalStateException("failed");
+        }, "fail");
+
+        assertThatIllegalStateException().isThrownBy(() -> executor.execute(query));
+        assertThat(executor.getRunning()).as("running").isEqualTo(0);
+
+        // A failed query can be executed again
+        assertThatIllegalStateException().isThrownBy(() -> executor.execute(query));
+        assertThat(executor.getExecutions()).as("executions").isEqualTo(2L);
+    }
+
+    @Test
+    public void testRejected() throws Exception {
+        CoalescingExecutor executor = new CoalescingExecutor();
+        CompletableFuture<String> future = executor.executeAsync(
+                new Query<>(String.class, () -> "x", "rejected"),
+                command -> {
+                    throw new RejectedExecutionException();
+                });
+
+        try {
+            future.get();
+            throw new AssertionError("expected ExecutionException");
+        } catch (ExecutionException ex) {
+            assertThat(ex.getCause()).isInstanceOf(RejectedExecutionException.class);
+        }
+        assertThat(executor.getRunning()).as("running").isEqualTo(0);
+    }
+
+    /**
+     * Creates a {@link Query} that waits for the latch, and then returns the key and
+     * the number of its executions.
+     */
+    private static Query<String> blockingQuery(String key, CountDownLatch latch, AtomicInteger calls) {
+        AtomicInteger keyCalls = new AtomicInteger();
+        return new Query<>(String.class, () -> {
+            calls.incrementAndGet();
+            try {
+                latch.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ex);
+            }
+            return key + keyCalls.incrementAndGet();
+        }, key);
+    }
+
+}
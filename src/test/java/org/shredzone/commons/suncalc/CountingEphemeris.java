@@ -0,0 +1,55 @@
+/*
+ * Shredzone Commons - suncalc
+ *
+ * Copyright (C) 2026 Richard "Shred" Körber
+ *   http://commons.shredzone.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ */
+package org.shredzone.commons.suncalc;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.shredzone.commons.suncalc.param.EphemerisProvider;
+
+/**
+ * An {@link EphemerisProvider} that counts its invocations, and passes them to the
+ * series expansions.
+ */
+public class CountingEphemeris implements EphemerisProvider {
+
+    private final AtomicInteger sunCalls = new AtomicInteger();
+    private final AtomicInteger moonCalls = new AtomicInteger();
+
+    @Override
+    public double[] sunPosition(double mjd) {
+        sunCalls.incrementAndGet();
+        return EphemerisProvider.series().sunPosition(mjd);
+    }
+
+    @Override
+    public double[] moonPosition(double mjd) {
+        moonCalls.incrementAndGet();
+        return EphemerisProvider.series().moonPosition(mjd);
+    }
+
+    /**
+     * Number of sun position computations.
+     */
+    public int getSunCalls() {
+        return sunCalls.get();
+    }
+
+    /**
+     * Number of moon position computations.
+     */
+    public int getMoonCalls() {
+        return moonCalls.get();
+    }
+
+}
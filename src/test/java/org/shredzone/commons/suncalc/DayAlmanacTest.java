@@ -0,0 +1,115 @@
+/*
+ * Shredzone Commons - suncalc
+ *
+ * Copyright (C) 2026 Richard "Shred" Körber
+ *   http://commons.shredzone.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ */
+package org.shredzone.commons.suncalc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.data.Offset.offset;
+import static org.shredzone.commons.suncalc.Locations.*;
+
+import java.time.temporal.ChronoUnit;
+
+import org.junit.Test;
+import org.shredzone.commons.suncalc.MoonPhase.Phase;
+
+/**
+ * Unit tests for {@link DayAlmanac}.
+ */
+public class DayAlmanacTest {
+
+    @Test
+    public void testCologne() {
+        DayAlmanac almanac = DayAlmanac.compute().at(COLOGNE).on(2017, 8, 10).timezone(COLOGNE_TZ)
+                        .execute();
+
+        SunTimes sunTimes = almanac.getSunTimes();
+        assertThat(sunTimes.getRise()).isEqualTo("2017-08-10T06:11:49+02:00");
+        assertThat(sunTimes.getSet()).isEqualTo("2017-08-10T21:02:20+02:00");
+
+        MoonTimes moonTimes = almanac.getMoonTimes();
+        assertThat(moonTimes.getRise()).isEqualTo("2017-08-10T22:23:13+02:00");
+        assertThat(moonTimes.getSet()).isEqualTo("2017-08-10T09:00:02+02:00");
+
+        assertThat(almanac.getMoonIllumination().getFraction()).isCloseTo(0.9517, offset(0.0001));
+
+        MoonPhase nextPhase = almanac.getNextPhase();
+        assertThat(nextPhase.getPhase()).isEqualTo(Phase.LAST_QUARTER);
+        assertThat(nextPhase.getTime().truncatedTo(ChronoUnit.SECONDS)).isEqualTo("2017-08-15T03:17:30+02:00");
+
+        assertThat(almanac.toString()).startsWith("DayAlmanac[sunTimes=SunTimes[");
+    }
+
+    @Test
+    public void testSameAsSeparate() {
+        for (double[] location : new double[][] {COLOGNE, ALERT, WELLINGTON, SINGAPORE}) {
+            for (int month = 1; month <= 12; month++) {
+                DayAlmanac almanac = DayAlmanac.compute().at(location).on(2017, month, 10).utc()
+                        .elevation(200.0)
+                        .execute();
+
+                assertThat(almanac.getSunTimes().toString()).isEqualTo(
+                        SunTimes.compute().at(location).on(2017, month, 10).utc()
+                                .elevation(200.0).execute().toString());
+                assertThat(almanac.getMoonTimes().toString()).isEqualTo(
+                        MoonTimes.compute().at(location).on(2017, month, 10).utc()
+                                .elevation(200.0).execute().toString());
+                assertThat(almanac.getMoonIllumination().toString()).isEqualTo(
+                        MoonIllumination.compute().at(location).on(2017, month, 10).utc()
+                                .elevation(200.0).execute().toString());
+                assertThat(almanac.getNextPhase().toString()).isEqualTo(
+                        MoonPhase.compute().on(2017, month, 10).utc()
+                                .executeSequence(Phase.NEW_MOON, Phase.FIRST_QUARTER,
+                                        Phase.FULL_MOON, Phase.LAST_QUARTER)
+                                .findFirst().get().toString());
+            }
+        }
+    }
+
+    @Test
+    public void testSharedPositions() {
+        CountingEphemeris c1 = new CountingEphemeris();
+        DayAlmanac.compute().at(COLOGNE).on(2017, 8, 10).utc().ephemeris(c1).execute();
+
+        CountingEphemeris c2 = new CountingEphemeris();
+        SunTimes.compute().at(COLOGNE).on(2017, 8, 10).utc().ephemeris(c2).execute();
+        MoonTimes.compute().at(COLOGNE).on(2017, 8, 10).utc().ephemeris(c2).execute();
+        MoonIllumination.compute().at(COLOGNE).on(2017, 8, 10).utc().ephemeris(c2).execute();
+        MoonPhase.compute().on(2017, 8, 10).utc().ephemeris(c2)
+                .executeSequence(Phase.NEW_MOON, Phase.FIRST_QUARTER, Phase.FULL_MOON, Phase.LAST_QUARTER)
+                .findFirst();
+
+        assertThat(c1.getSunCalls()).as("sun calls").isLessThan(c2.getSunCalls());
+        assertThat(c1.getMoonCalls()).as("moon calls").isLessThan(c2.getMoonCalls());
+    }
+
+    @Test
+    public void testMissingLocation() {
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                DayAlmanac.compute().on(2017, 8, 10).execute());
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                DayAlmanac.compute().on(2017, 8, 10).query());
+    }
+
+    @Test
+    public void testQuery() {
+        Query<DayAlmanac> q1 = DayAlmanac.compute().at(COLOGNE).on(2017, 8, 10).utc().query();
+        Query<DayAlmanac> q2 = DayAlmanac.compute().at(COLOGNE).on(2017, 8, 10).utc().query();
+        Query<DayAlmanac> q3 = DayAlmanac.compute().at(COLOGNE).on(2017, 8, 11).utc().query();
+        assertThat(q1).isEqualTo(q2);
+        assertThat(q1).isNotEqualTo(q3);
+        assertThat(q1.getType()).isEqualTo(DayAlmanac.class);
+        assertThat(q1.execute().getSunTimes().getRise()).isEqualTo("2017-08-10T04:11:49Z");
+    }
+
+}
@@ -19,6 +19,7 @@ import static org.shredzone.commons.suncalc.Locations.*;
 import org.assertj.core.data.Offset;
 import org.junit.Test;
 import org.shredzone.commons.suncalc.MoonPhase.Phase;
+import org.shredzone.commons.suncalc.param.EphemerisProvider;
 
 /**
  * Unit tests for {@link MoonIllumination}.
@@ -126,4 +127,27 @@ public class MoonIlluminationTest {
         assertThat(tmi.getCrescentWidth()).as("crescentWidth").isCloseTo(0.031, FINE_ERROR);
     }
 
+    @Test
+    public void testEphemeris() {
+        CountingEphemeris counting = new CountingEphemeris();
+        MoonIllumination mi1 = MoonIllumination.compute()
+                        .on(2017, 7, 9, 6, 6, 0)
+                        .timezone(COLOGNE_TZ)
+                        .ephemeris(counting)
+                        .execute();
+        assertThat(mi1.getFraction()).as("fraction").isCloseTo(1.0, ERROR);
+        assertThat(mi1.getPhase()).as("phase").isCloseTo(-3.2, ERROR);
+        assertThat(counting.getSunCalls()).as("sun calls").isEqualTo(1);
+        assertThat(counting.getMoonCalls()).as("moon calls").isEqualTo(1);
+
+        MoonIllumination mi2 = MoonIllumination.compute()
+                        .on(2017, 7, 9, 6, 6, 0)
+                        .timezone(COLOGNE_TZ)
+                        .ephemeris(EphemerisProvider.chebyshev())
+                        .execute();
+        assertThat(mi2.getFraction()).as("fraction").isCloseTo(mi1.getFraction(), FINE_ERROR);
+        assertThat(mi2.getPhase()).as("phase").isCloseTo(mi1.getPhase(), FINE_ERROR);
+        assertThat(mi2.getAngle()).as("angle").isCloseTo(mi1.getAngle(), FINE_ERROR);
+    }
+
 }
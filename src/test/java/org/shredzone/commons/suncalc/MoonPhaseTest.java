@@ -15,13 +15,19 @@ package org.shredzone.commons.suncalc;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.assertj.core.api.AbstractDateAssert;
 import org.assertj.core.data.Offset;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.shredzone.commons.suncalc.MoonPhase.Phase;
+import org.shredzone.commons.suncalc.param.EphemerisProvider;
 
 /**
  * Unit tests for {@link MoonPhase}.
@@ -87,6 +93,63 @@ public class MoonPhaseTest {
         assertThat(mp.getDistance()).isCloseTo(369899.0, ERROR);
     }
 
+    @Test
+    public void testSequence() {
+        List<MoonPhase> phases = MoonPhase.compute()
+                        .on(2017, 9, 1)
+                        .utc()
+                        .executeSequence(Phase.NEW_MOON, Phase.FIRST_QUARTER,
+                                        Phase.FULL_MOON, Phase.LAST_QUARTER)
+                        .limit(6)
+                        .collect(Collectors.toList());
+
+        assertPhase(phases.get(0), Phase.FULL_MOON, "2017-09-06T07:07:44Z", 384364.0);
+        assertPhase(phases.get(1), Phase.LAST_QUARTER, "2017-09-13T06:28:34Z", 369899.0);
+        assertPhase(phases.get(2), Phase.NEW_MOON, "2017-09-20T05:29:30Z", 382740.0);
+        assertPhase(phases.get(3), Phase.FIRST_QUARTER, "2017-09-28T02:52:40Z", 403894.0);
+        assertPhase(phases.get(4), Phase.FULL_MOON, "2017-10-05T18:43:56Z", 373890.0);
+        assertPhase(phases.get(5), Phase.LAST_QUARTER, "2017-10-12T12:27:40Z", 370943.0);
+    }
+
+    @Test
+    public void testSequenceSinglePhase() {
+        List<MoonPhase> phases = MoonPhase.compute()
+                        .on(2017, 9, 1)
+                        .utc()
+                        .phase(Phase.NEW_MOON)
+                        .executeSequence()
+                        .limit(3)
+                        .collect(Collectors.toList());
+
+        assertPhase(phases.get(0), Phase.NEW_MOON, "2017-09-20T05:29:30Z", 382740.0);
+        assertPhase(phases.get(1), Phase.NEW_MOON, "2017-10-19T19:14:04Z", 393375.0);
+        assertPhase(phases.get(2), Phase.NEW_MOON, "2017-11-18T11:44:25Z", 401720.0);
+    }
+
+    @Test
+    public void testSequenceMatchesExecute() {
+        long acceptableError = 60 * 1000L;
+        ZonedDateTime start = ZonedDateTime.of(2000, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+        List<MoonPhase> phases = MoonPhase.compute()
+                        .on(start)
+                        .executeSequence(Phase.values())
+                        .limit(8 * 13 * 5)
+                        .collect(Collectors.toList());
+
+        ZonedDateTime previous = start;
+        for (MoonPhase mp : phases) {
+            assertThat(mp.getTime()).isAfter(previous);
+            MoonPhase expected = MoonPhase.compute()
+                        .on(previous.plusMinutes(1L))
+                        .phase(mp.getPhase())
+                        .execute();
+            long diff = Duration.between(expected.getTime(), mp.getTime()).abs().toMillis();
+            assertThat(diff).as("%s at %s", mp.getPhase(), mp.getTime()).isLessThan(acceptableError);
+            previous = mp.getTime();
+        }
+    }
+
     @Test
     public void testToPhase() {
         // exact angles
@@ -120,4 +183,35 @@ public class MoonPhaseTest {
         assertThat(Phase.toPhase(382.4)).isEqualTo(Phase.NEW_MOON);
     }
 
+    private void assertPhase(MoonPhase mp, Phase phase, String time, double distance) {
+        assertThat(mp.getPhase()).isEqualTo(phase);
+        assertThat(mp.getTime().truncatedTo(ChronoUnit.SECONDS)).as("%s", phase).isEqualTo(time);
+        assertThat(mp.getDistance()).as("%s", phase).isCloseTo(distance, ERROR);
+    }
+
+    @Test
+    public void testEphemeris() {
+        CountingEphemeris counting = new CountingEphemeris();
+        MoonPhase mp1 = MoonPhase.compute()
+                        .on(2017, 9, 1)
+                        .utc()
+                        .phase(Phase.NEW_MOON)
+                        .ephemeris(counting)
+                        .execute();
+        assertThat(mp1.getTime().truncatedTo(ChronoUnit.SECONDS))
+                .isEqualTo("2017-09-20T05:29:30Z");
+        assertThat(counting.getSunCalls()).as("sun calls").isGreaterThan(0);
+        assertThat(counting.getMoonCalls()).as("moon calls").isGreaterThan(0);
+
+        MoonPhase mp2 = MoonPhase.compute()
+                        .on(2017, 9, 1)
+                        .utc()
+                        .phase(Phase.NEW_MOON)
+                        .ephemeris(EphemerisProvider.chebyshev())
+                        .execute();
+        assertThat(mp2.getTime().truncatedTo(ChronoUnit.SECONDS))
+                .isEqualTo("2017-09-20T05:29:30Z");
+        assertThat(mp2.getDistance()).isCloseTo(382740.0, ERROR);
+    }
+
 }
@@ -14,10 +14,18 @@
 package org.shredzone.commons.suncalc;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.shredzone.commons.suncalc.Locations.*;
 
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.assertj.core.data.Offset;
 import org.junit.Test;
+import org.shredzone.commons.suncalc.param.EphemerisProvider;
 
 /**
  * Unit tests for {@link MoonPosition}.
@@ -26,6 +34,7 @@ public class MoonPositionTest {
 
     private static final Offset<Double> ERROR = Offset.offset(0.1);
     private static final Offset<Double> DISTANCE_ERROR = Offset.offset(800.0);
+    private static final Offset<Double> SERIES_ERROR = Offset.offset(0.000001);
 
     @Test
     public void testCologne() {
@@ -162,4 +171,162 @@ public class MoonPositionTest {
         assertThat(mp1.getParallacticAngle()).as("pa").isCloseTo(52.8, ERROR);
     }
 
+    @Test
+    public void testSeries() {
+        // spans several days, so the obliquity of the ecliptic is updated
+        ZonedDateTime start = ZonedDateTime.of(2017, 7, 12, 3, 51, 0, 0, COLOGNE_TZ);
+        Duration step = Duration.ofMinutes(17L);
+        int count = 300;
+
+        double[] azimuth = new double[count];
+        double[] altitude = new double[count];
+        double[] trueAltitude = new double[count];
+        double[] distance = new double[count];
+        double[] parallacticAngle = new double[count];
+
+        MoonPosition.compute().on(start).at(COLOGNE)
+                .executeSeries(step, count, azimuth, altitude, trueAltitude, distance, parallacticAngle);
+
+        for (int ix = 0; ix < count; ix++) {
+            MoonPosition mp = MoonPosition.compute()
+                    .on(start.plus(step.multipliedBy(ix)))
+                    .at(COLOGNE)
+                    .execute();
+            assertThat(azimuth[ix]).as("azimuth[%d]", ix).isCloseTo(mp.getAzimuth(), SERIES_ERROR);
+            assertThat(altitude[ix]).as("altitude[%d]", ix).isCloseTo(mp.getAltitude(), SERIES_ERROR);
+            assertThat(trueAltitude[ix]).as("trueAltitude[%d]", ix).isCloseTo(mp.getTrueAltitude(), SERIES_ERROR);
+            assertThat(distance[ix]).as("distance[%d]", ix).isCloseTo(mp.getDistance(), SERIES_ERROR);
+            assertThat(parallacticAngle[ix]).as("pa[%d]", ix).isCloseTo(mp.getParallacticAngle(), SERIES_ERROR);
+        }
+
+        assertThat(azimuth[0]).as("azimuth").isCloseTo(179.9, ERROR);
+        assertThat(altitude[0]).as("altitude").isCloseTo(25.3, ERROR);
+        assertThat(distance[0]).as("distance").isCloseTo(394709.0, DISTANCE_ERROR);
+    }
+
+    @Test
+    public void testSeriesBadArguments() {
+        MoonPosition.Parameters param = MoonPosition.compute().at(COLOGNE);
+        Duration step = Duration.ofMinutes(1L);
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> param.executeSeries(step, 3, null, null, null, null, new double[2]));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> param.executeSeries(step, -1, null, null, null, null, null));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> MoonPosition.compute().executeSeries(step, 1, null, null, null, null, null));
+    }
+
+    @Test
+    public void testLocations() {
+        ZonedDateTime time = ZonedDateTime.of(2017, 7, 12, 13, 37, 0, 0, COLOGNE_TZ);
+        double[][] locations = {COLOGNE, ALERT, WELLINGTON, PUERTO_WILLIAMS, SINGAPORE,
+                        {90.0, 180.0}, {-90.0, -180.0}, {0.0, 0.0}};
+        double[] latitude = new double[locations.length];
+        double[] longitude = new double[locations.length];
+        for (int ix = 0; ix < locations.length; ix++) {
+            latitude[ix] = locations[ix][0];
+            longitude[ix] = locations[ix][1];
+        }
+
+        double[] azimuth = new double[latitude.length];
+        double[] altitude = new double[latitude.length];
+        double[] trueAltitude = new double[latitude.length];
+        double[] distance = new double[latitude.length];
+        double[] parallacticAngle = new double[latitude.length];
+
+        MoonPosition.compute().on(time).at(SINGAPORE)
+                .executeLocations(latitude, longitude, azimuth, altitude, trueAltitude, distance, parallacticAngle);
+
+        for (int ix = 0; ix < latitude.length; ix++) {
+            MoonPosition mp = MoonPosition.compute()
+                    .on(time)
+                    .at(latitude[ix], longitude[ix])
+                    .execute();
+            assertThat(azimuth[ix]).as("azimuth[%d]", ix).isEqualTo(mp.getAzimuth());
+            assertThat(altitude[ix]).as("altitude[%d]", ix).isEqualTo(mp.getAltitude());
+            assertThat(trueAltitude[ix]).as("trueAltitude[%d]", ix).isEqualTo(mp.getTrueAltitude());
+            assertThat(distance[ix]).as("distance[%d]", ix).isEqualTo(mp.getDistance());
+            assertThat(parallacticAngle[ix]).as("pa[%d]", ix).isEqualTo(mp.getParallacticAngle());
+        }
+    }
+
+    @Test
+    public void testLocationsBadArguments() {
+        MoonPosition.Parameters param = MoonPosition.compute();
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> param.executeLocations(new double[3], new double[3], new double[2], null, null, null, null));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> param.executeLocations(new double[3], new double[2], null, null, null, null, null));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> param.executeLocations(new double[] {91.0}, new double[1], null, null, null, null, null));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> param.executeLocations(new double[1], new double[] {Double.NaN}, null, null, null, null, null));
+    }
+
+    @Test
+    public void testLocationsParallel() {
+        int count = 20000;
+        Random rnd = new Random(4711L);
+        double[] latitude = new double[count];
+        double[] longitude = new double[count];
+        for (int ix = 0; ix < count; ix++) {
+            latitude[ix] = rnd.nextDouble() * 180.0 - 90.0;
+            longitude[ix] = rnd.nextDouble() * 360.0 - 180.0;
+        }
+
+        ZonedDateTime time = ZonedDateTime.of(2017, 7, 12, 13, 37, 0, 0, COLOGNE_TZ);
+        MoonPosition.Parameters param = MoonPosition.compute().on(time);
+
+        double[] expectedAzimuth = new double[count];
+        double[] expectedAltitude = new double[count];
+        param.executeLocations(latitude, longitude, expectedAzimuth, expectedAltitude, null, null, null);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            double[] azimuth = new double[count];
+            double[] altitude = new double[count];
+            param.executeLocations(executor, latitude, longitude, azimuth, altitude, null, null, null);
+            assertThat(azimuth).containsExactly(expectedAzimuth);
+            assertThat(altitude).containsExactly(expectedAltitude);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testEphemeris() {
+        MoonPosition expected = MoonPosition.compute()
+                        .on(2017, 7, 12, 3, 51, 0)
+                        .at(COLOGNE)
+                        .timezone(COLOGNE_TZ)
+                        .execute();
+
+        CountingEphemeris counting = new CountingEphemeris();
+        MoonPosition.Parameters param = MoonPosition.compute()
+                        .on(2017, 7, 12, 3, 51, 0)
+                        .at(COLOGNE)
+                        .timezone(COLOGNE_TZ)
+                        .ephemeris(counting);
+
+        MoonPosition mp1 = param.execute();
+        assertThat(counting.getMoonCalls()).as("moon calls").isEqualTo(1);
+        assertThat(counting.getSunCalls()).as("sun calls").isEqualTo(0);
+        assertThat(mp1.getAzimuth()).as("azimuth").isEqualTo(expected.getAzimuth());
+        assertThat(mp1.getAltitude()).as("altitude").isEqualTo(expected.getAltitude());
+        assertThat(mp1.getDistance()).as("distance").isEqualTo(expected.getDistance());
+
+        double[] altitude = new double[4];
+        param.executeSeries(Duration.ofHours(1L), 4, null, altitude, null, null, null);
+        assertThat(counting.getMoonCalls()).as("moon calls").isEqualTo(5);
+        assertThat(altitude[0]).as("altitude").isCloseTo(expected.getAltitude(), SERIES_ERROR);
+
+        MoonPosition mp2 = param.ephemeris(EphemerisProvider.chebyshev()).execute();
+        assertThat(counting.getMoonCalls()).as("moon calls").isEqualTo(5);
+        assertThat(mp2.getAzimuth()).as("azimuth").isCloseTo(expected.getAzimuth(), SERIES_ERROR);
+        assertThat(mp2.getAltitude()).as("altitude").isCloseTo(expected.getAltitude(), SERIES_ERROR);
+        assertThat(mp2.getDistance()).as("distance").isCloseTo(expected.getDistance(), SERIES_ERROR);
+    }
+
 }
@@ -23,6 +23,7 @@ import java.time.ZonedDateTime;
 import org.assertj.core.api.AbstractDateAssert;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import org.shredzone.commons.suncalc.param.EphemerisProvider;
 
 /**
  * Unit tests for {@link MoonTimes}.
@@ -150,4 +151,43 @@ public class MoonTimesTest {
         return ZonedDateTime.of(year, month, day, hour, minute, 0, 0, ZoneId.of("UTC"));
     }
 
+    @Test
+    public void testStandstill() {
+        // Near the major lunar standstill, the moon stays below or above the horizon
+        // for days. These days are skipped instead of being scanned hour by hour.
+        CountingEphemeris c1 = new CountingEphemeris();
+        MoonTimes mt1 = MoonTimes.compute().on(2025, 3, 4).utc().at(ALERT).ephemeris(c1).execute();
+        assertThat(mt1.getRise()).as("rise").isEqualTo("2025-03-13T18:50:12Z");
+        assertThat(mt1.getSet()).as("set").isEqualTo("2025-03-13T14:02:28Z");
+        assertThat(c1.getMoonCalls()).as("moon calls").isLessThan(60);
+
+        CountingEphemeris c2 = new CountingEphemeris();
+        MoonTimes mt2 = MoonTimes.compute().on(2025, 3, 16).utc().at(ALERT).ephemeris(c2).execute();
+        assertThat(mt2.getRise()).as("rise").isEqualTo("2025-03-28T10:52:19Z");
+        assertThat(mt2.getSet()).as("set").isEqualTo("2025-03-28T22:00:30Z");
+        assertThat(c2.getMoonCalls()).as("moon calls").isLessThan(60);
+
+        MoonTimes mt3 = MoonTimes.compute().on(2025, 3, 12).utc().at(ALERT).reverse().execute();
+        assertThat(mt3.getRise()).as("rise").isEqualTo("2025-03-02T08:07:39Z");
+        assertThat(mt3.getSet()).as("set").isEqualTo("2025-03-02T02:57:10Z");
+    }
+
+    @Test
+    public void testEphemeris() {
+        CountingEphemeris counting = new CountingEphemeris();
+        MoonTimes mt1 = MoonTimes.compute().on(2017, 7, 12).utc().at(COLOGNE)
+                        .ephemeris(counting)
+                        .execute();
+        assertThat(mt1.getRise()).as("rise").isEqualTo("2017-07-12T21:25:55Z");
+        assertThat(mt1.getSet()).as("set").isEqualTo("2017-07-12T06:53:30Z");
+        assertThat(counting.getMoonCalls()).as("moon calls").isGreaterThan(0);
+        assertThat(counting.getSunCalls()).as("sun calls").isEqualTo(0);
+
+        MoonTimes mt2 = MoonTimes.compute().on(2017, 7, 12).utc().at(COLOGNE)
+                        .ephemeris(EphemerisProvider.chebyshev())
+                        .execute();
+        assertThat(mt2.getRise()).as("rise").isEqualTo("2017-07-12T21:25:55Z");
+        assertThat(mt2.getSet()).as("set").isEqualTo("2017-07-12T06:53:30Z");
+    }
+
 }
@@ -0,0 +1,171 @@
+/*
+ * Shredzone Commons - suncalc
+ *
+ * Copyright (C) 2026 Richard "Shred" Körber
+ *   http://commons.shredzone.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ */
+package org.shredzone.commons.suncalc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.shredzone.commons.suncalc.Locations.*;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import org.shredzone.commons.suncalc.SunTimes.Twilight;
+import org.shredzone.commons.suncalc.param.EphemerisProvider;
+
+/**
+ * Unit tests for {@link Query}.
+ */
+public class QueryTest {
+
+    @Test
+    public void testSunTimesQuery() {
+        SunTimes.Parameters param = SunTimes.compute().on(2017, 8, 10).utc().at(COLOGNE);
+        Query<SunTimes> query = param.query();
+
+        // Changing the parameters does not change the query
+        param.plusDays(1).twilight(Twilight.CIVIL).at(ALERT);
+
+        SunTimes times = query.execute();
+        assertThat(times.getRise()).as("rise").isEqualTo("2017-08-10T04:11:49Z");
+        assertThat(times.getSet()).as("set").isEqualTo("2017-08-10T19:02:20Z");
+        assertThat(query.execute().toString()).isEqualTo(times.toString());
+        assertThat(query.getType()).isEqualTo(SunTimes.class);
+    }
+
+    @Test
+    public void testMoonTimesQuery() {
+        MoonTimes.Parameters param = MoonTimes.compute().on(2017, 7, 12).utc().at(COLOGNE);
+        Query<MoonTimes> query = param.query();
+
+        param.plusDays(1).at(ALERT);
+
+        MoonTimes mt = query.execute();
+        assertThat(mt.getRise()).as("rise").isEqualTo("2017-07-12T21:25:55Z");
+        assertThat(mt.getSet()).as("set").isEqualTo("2017-07-12T06:53:30Z");
+        assertThat(query.getType()).isEqualTo(MoonTimes.class);
+    }
+
+    @Test
+    public void testEquals() {
+        SunTimes.Parameters param = SunTimes.compute().on(2017, 8, 10).utc().at(COLOGNE);
+        Query<SunTimes> query = param.query();
+
+        assertThat(query).isEqualTo(param.query());
+        assertThat(query.hashCode()).isEqualTo(param.query().hashCode());
+        assertThat(query).isEqualTo(SunTimes.compute().on(2017, 8, 10).utc().at(COLOGNE).query());
+        assertThat(query.toString()).startsWith("Query[SunTimes, parameters=");
+
+        assertThat(param.copy().plusDays(1).query()).isNotEqualTo(query);
+        assertThat(param.copy().timezone(COLOGNE_TZ).query()).isNotEqualTo(query);
+        assertThat(param.copy().at(ALERT).query()).isNotEqualTo(query);
+        assertThat(param.copy().elevation(100.0).query()).isNotEqualTo(query);
+        assertThat(param.copy().oneDay().query()).isNotEqualTo(query);
+        assertThat(param.copy().reverse().query()).isNotEqualTo(query);
+        assertThat(param.copy().twilight(Twilight.CIVIL).query()).isNotEqualTo(query);
+        assertThat(param.copy().twilight(-6.0).query()).isEqualTo(param.copy().twilight(Twilight.CIVIL).query());
+        assertThat(param.copy().ephemeris(EphemerisProvider.chebyshev()).query()).isNotEqualTo(query);
+        assertThat(param.copy().cache(new ResultCache(10)).query()).isNotEqualTo(query);
+
+        // Queries of different types are never equal
+        assertThat(MoonTimes.compute().on(2017, 8, 10).utc().at(COLOGNE).query()).isNotEqualTo(query);
+
+        // Custom ephemeris providers are compared by equals()
+        CountingEphemeris ephemeris = new CountingEphemeris();
+        assertThat(param.copy().ephemeris(ephemeris).query())
+                .isEqualTo(param.copy().ephemeris(ephemeris).query());
+
+        Set<Query<SunTimes>> set = new HashSet<>();
+        set.add(query);
+        set.add(param.query());
+        set.add(param.copy().plusDays(1).query());
+        assertThat(set).hasSize(2);
+    }
+
+    @Test
+    public void testOtherQueries() {
+        // Moon positions only depend on the instant
+        assertThat(MoonPosition.compute().on(2017, 8, 10, 12, 0, 0).utc().at(COLOGNE).query())
+                .isEqualTo(MoonPosition.compute().on(2017, 8, 10, 14, 0, 0).timezone(COLOGNE_TZ).at(COLOGNE).query());
+        assertThat(MoonIllumination.compute().on(2017, 8, 10).utc().query())
+                .isEqualTo(MoonIllumination.compute().on(2017, 8, 10).utc().at(COLOGNE).geocentric().query());
+        assertThat(MoonIllumination.compute().on(2017, 8, 10).utc().at(COLOGNE).query())
+                .isNotEqualTo(MoonIllumination.compute().on(2017, 8, 10).utc().query());
+
+        // Moon phases are returned in the given time zone
+        MoonPhase.Parameters phase = MoonPhase.compute().on(2017, 9, 1).utc();
+        assertThat(phase.query()).isEqualTo(phase.copy().query());
+        assertThat(phase.copy().timezone(COLOGNE_TZ).query()).isNotEqualTo(phase.query());
+        assertThat(phase.copy().phase(MoonPhase.Phase.FULL_MOON).query()).isNotEqualTo(phase.query());
+        assertThat(phase.query().execute().getTime()).isEqualTo(phase.execute().getTime());
+
+        assertThatIllegalArgumentException().isThrownBy(() -> SunPosition.compute().query());
+        assertThatIllegalArgumentException().isThrownBy(() -> MoonPosition.compute().query());
+    }
+
+    @Test
+    public void testTimezone() {
+        // The sun distance depends on the local day, so the time zone is part of the query
+        ZonedDateTime utc = ZonedDateTime.parse("2017-07-04T23:30:00Z");
+        ZonedDateTime local = utc.withZoneSameInstant(COLOGNE_TZ);
+
+        SunPosition.Parameters sun = SunPosition.compute().on(utc).at(COLOGNE);
+        SunPosition.Parameters sunLocal = SunPosition.compute().on(local).at(COLOGNE);
+        assertThat(sun.query()).isNotEqualTo(sunLocal.query());
+        assertThat(sun.query().execute().getDistance()).isEqualTo(sun.execute().getDistance());
+        assertThat(sunLocal.query().execute().getDistance()).isEqualTo(sunLocal.execute().getDistance());
+        assertThat(sun.execute().getDistance()).isNotEqualTo(sunLocal.execute().getDistance());
+
+        MoonIllumination.Parameters moon = MoonIllumination.compute().on(utc).at(COLOGNE);
+        MoonIllumination.Parameters moonLocal = MoonIllumination.compute().on(local).at(COLOGNE);
+        assertThat(moon.query()).isNotEqualTo(moonLocal.query());
+        assertThat(moon.query().execute().getElongation()).isEqualTo(moon.execute().getElongation());
+        assertThat(moonLocal.query().execute().getElongation()).isEqualTo(moonLocal.execute().getElongation());
+    }
+
+    @Test
+    public void testConcurrent() throws Exception {
+        Query<MoonTimes> query = MoonTimes.compute().on(2017, 7, 12).utc().at(COLOGNE)
+                .limit(Duration.ofDays(30L))
+                .query();
+        String expected = query.execute().toString();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<MoonTimes>> results = new ArrayList<>();
+            for (int ix = 0; ix < 16; ix++) {
+                results.add(executor.submit(query::execute));
+            }
+            for (Future<MoonTimes> result : results) {
+                assertThat(result.get().toString()).isEqualTo(expected);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testMissingLocation() {
+        assertThatIllegalArgumentException().isThrownBy(() -> SunTimes.compute().query());
+        assertThatIllegalArgumentException().isThrownBy(() -> MoonTimes.compute().query());
+    }
+
+}
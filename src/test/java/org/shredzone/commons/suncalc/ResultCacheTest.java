@@ -0,0 +1,136 @@
+/*
+ * Shredzone Commons - suncalc
+ *
+ * Copyright (C) 2026 Richard "Shred" Körber
+ *   http://commons.shredzone.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ */
+package org.shredzone.commons.suncalc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.shredzone.commons.suncalc.Locations.*;
+
+import java.time.Duration;
+
+import org.assertj.core.api.AbstractDateAssert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.shredzone.commons.suncalc.SunTimes.Twilight;
+
+/**
+ * Unit tests for {@link ResultCache}.
+ */
+public class ResultCacheTest {
+
+    @BeforeClass
+    public static void init() {
+        AbstractDateAssert.registerCustomDateFormat("yyyy-MM-dd'T'HH:mm:ssX");
+    }
+
+    @Test
+    public void testSunTimes() {
+        ResultCache cache = new ResultCache(100);
+
+        SunTimes t1 = SunTimes.compute().on(2017, 8, 10).utc().at(COLOGNE).cache(cache).execute();
+        assertThat(t1.getRise()).as("rise").isEqualTo("2017-08-10T04:11:48Z");
+        assertThat(t1.getSet()).as("set").isEqualTo("2017-08-10T19:02:20Z");
+        assertThat(cache.getHits()).as("hits").isEqualTo(0L);
+        assertThat(cache.getMisses()).as("misses").isEqualTo(1L);
+
+        // A location in the same cell gives the same result
+        SunTimes t2 = SunTimes.compute().on(2017, 8, 10).utc()
+                        .at(COLOGNE[0] + 0.001, COLOGNE[1] - 0.001)
+                        .cache(cache)
+                        .execute();
+        assertThat(t2).isSameAs(t1);
+        assertThat(cache.getHits()).as("hits").isEqualTo(1L);
+        assertThat(cache.getMisses()).as("misses").isEqualTo(1L);
+
+        // Different parameters give different results
+        SunTimes.Parameters param = SunTimes.compute().on(2017, 8, 10).utc().at(COLOGNE).cache(cache);
+        assertThat(param.copy().twilight(Twilight.CIVIL).execute()).isNotSameAs(t1);
+        assertThat(param.copy().plusDays(1).execute()).isNotSameAs(t1);
+        assertThat(param.copy().oneDay().execute()).isNotSameAs(t1);
+        assertThat(param.copy().timezone(COLOGNE_TZ).execute()).isNotSameAs(t1);
+        assertThat(param.copy().elevation(100.0).execute()).isNotSameAs(t1);
+        assertThat(param.copy().at(ALERT).execute()).isNotSameAs(t1);
+        assertThat(cache.getHits()).as("hits").isEqualTo(1L);
+        assertThat(cache.getMisses()).as("misses").isEqualTo(7L);
+        assertThat(cache.size()).as("size").isEqualTo(7);
+
+        // Uncached computations are not affected
+        SunTimes t3 = param.copy().cache(null).execute();
+        assertThat(t3).isNotSameAs(t1);
+        assertThat(cache.getMisses()).as("misses").isEqualTo(7L);
+
+        cache.clear();
+        assertThat(cache.size()).as("size").isEqualTo(0);
+        assertThat(param.execute()).isNotSameAs(t1);
+        assertThat(cache.getMisses()).as("misses").isEqualTo(8L);
+    }
+
+    @Test
+    public void testMoonTimes() {
+        ResultCache cache = new ResultCache(100);
+
+        MoonTimes mt1 = MoonTimes.compute().on(2017, 7, 12).utc().at(COLOGNE).cache(cache).execute();
+        assertThat(mt1.getRise()).as("rise").isEqualTo("2017-07-12T21:25:54Z");
+        assertThat(mt1.getSet()).as("set").isEqualTo("2017-07-12T06:53:28Z");
+
+        MoonTimes mt2 = MoonTimes.compute().on(2017, 7, 12).utc().at(COLOGNE).cache(cache).execute();
+        assertThat(mt2).isSameAs(mt1);
+
+        MoonTimes mt3 = MoonTimes.compute().on(2017, 7, 12).utc().at(COLOGNE).cache(cache)
+                        .limit(Duration.ofDays(2L))
+                        .execute();
+        assertThat(mt3).isNotSameAs(mt1);
+
+        assertThat(cache.getHits()).as("hits").isEqualTo(1L);
+        assertThat(cache.getMisses()).as("misses").isEqualTo(2L);
+    }
+
+    @Test
+    public void testEviction() {
+        ResultCache cache = new ResultCache(2);
+        SunTimes.Parameters param = SunTimes.compute().on(2017, 8, 10).utc().at(COLOGNE).cache(cache);
+
+        SunTimes t1 = param.execute();
+        param.copy().plusDays(1).execute();
+        assertThat(param.execute()).isSameAs(t1);      // t1 is now the most recently used
+        param.copy().plusDays(2).execute();             // evicts plusDays(1)
+        assertThat(cache.size()).as("size").isEqualTo(2);
+        assertThat(param.execute()).isSameAs(t1);
+        assertThat(cache.getHits()).as("hits").isEqualTo(2L);
+        assertThat(cache.getMisses()).as("misses").isEqualTo(3L);
+
+        param.copy().plusDays(1).execute();
+        assertThat(cache.getMisses()).as("misses").isEqualTo(4L);
+    }
+
+    @Test
+    public void testSnap() {
+        ResultCache cache = new ResultCache(10, 0.5, 100.0);
+        assertThat(cache.snapLatitude(50.2)).isEqualTo(50.0);
+        assertThat(cache.snapLatitude(50.3)).isEqualTo(50.5);
+        assertThat(cache.snapLatitude(89.9)).isEqualTo(90.0);
+        assertThat(cache.snapLongitude(-179.9)).isEqualTo(-180.0);
+        assertThat(cache.snapElevation(149.0)).isEqualTo(100.0);
+        assertThat(cache.snapElevation(151.0)).isEqualTo(200.0);
+    }
+
+    @Test
+    public void testBadArguments() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new ResultCache(0));
+        assertThatIllegalArgumentException().isThrownBy(() -> new ResultCache(10, 0.0, 10.0));
+        assertThatIllegalArgumentException().isThrownBy(() -> new ResultCache(10, 0.01, -1.0));
+        assertThatIllegalArgumentException().isThrownBy(() -> new ResultCache(10, Double.NaN, 10.0));
+    }
+
+}
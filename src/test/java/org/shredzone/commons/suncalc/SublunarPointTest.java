@@ -0,0 +1,90 @@
+/*
+ * Shredzone Commons - suncalc
+ *
+ * Copyright (C) 2026 Richard "Shred" Körber
+ *   http://commons.shredzone.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ */
+package org.shredzone.commons.suncalc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.Duration;
+
+import org.assertj.core.data.Offset;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link SublunarPoint}.
+ */
+public class SublunarPointTest {
+
+    private static final Offset<Double> ERROR = Offset.offset(0.01);
+
+    @Test
+    public void testPosition() {
+        SublunarPoint sp1 = SublunarPoint.compute().on(2017, 6, 21, 12, 0, 0).utc().execute();
+        assertThat(sp1.getLatitude()).as("latitude").isCloseTo(13.67, ERROR);
+        assertThat(sp1.getLongitude()).as("longitude").isCloseTo(-37.64, ERROR);
+        assertThat(sp1.getDistance()).as("distance").isCloseTo(360925.5, Offset.offset(0.1));
+
+        SublunarPoint sp2 = SublunarPoint.compute().on(2017, 12, 21, 0, 0, 0).utc().execute();
+        assertThat(sp2.getLatitude()).as("latitude").isCloseTo(-18.94, ERROR);
+        assertThat(sp2.getLongitude()).as("longitude").isCloseTo(-149.18, ERROR);
+    }
+
+    @Test
+    public void testZenith() {
+        SublunarPoint sp = SublunarPoint.compute().on(2017, 8, 10, 16, 30, 0).utc().execute();
+        MoonPosition pos = MoonPosition.compute()
+                        .on(2017, 8, 10, 16, 30, 0).utc()
+                        .at(sp.getLatitude(), sp.getLongitude())
+                        .execute();
+        assertThat(pos.getTrueAltitude()).isCloseTo(90.0, Offset.offset(0.000001));
+        assertThat(pos.getDistance()).isCloseTo(sp.getDistance(), Offset.offset(0.001));
+    }
+
+    @Test
+    public void testSeries() {
+        int count = 48;
+        double[] latitude = new double[count];
+        double[] longitude = new double[count];
+        double[] distance = new double[count];
+
+        SublunarPoint.Parameters param = SublunarPoint.compute().on(2017, 8, 10, 0, 0, 0).utc();
+        param.executeSeries(Duration.ofMinutes(30L), count, latitude, longitude, distance);
+
+        for (int ix = 0; ix < count; ix++) {
+            SublunarPoint expected = SublunarPoint.compute()
+                        .on(2017, 8, 10, ix / 2, (ix % 2) * 30, 0).utc()
+                        .execute();
+            assertThat(latitude[ix]).as("latitude %d", ix).isEqualTo(expected.getLatitude());
+            assertThat(longitude[ix]).as("longitude %d", ix).isEqualTo(expected.getLongitude());
+            assertThat(distance[ix]).as("distance %d", ix).isEqualTo(expected.getDistance());
+            assertThat(longitude[ix]).as("longitude range %d", ix).isBetween(-180.0, 180.0);
+        }
+
+        param.executeSeries(Duration.ofHours(1L), 2, null, longitude, null);
+
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                        param.executeSeries(Duration.ofHours(1L), count + 1, latitude, null, null));
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                        param.executeSeries(Duration.ofHours(1L), -1, null, null, null));
+    }
+
+    @Test
+    public void testQuery() {
+        SublunarPoint.Parameters param = SublunarPoint.compute().on(2017, 8, 10, 0, 0, 0).utc();
+        assertThat(param.query()).isEqualTo(param.copy().query());
+        assertThat(param.query()).isNotEqualTo(param.copy().on(2017, 8, 10, 0, 1, 0).query());
+        assertThat(param.query().execute().toString()).isEqualTo(param.execute().toString());
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Shredzone Commons - suncalc
+ *
+ * Copyright (C) 2026 Richard "Shred" Körber
+ *   http://commons.shredzone.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ */
+package org.shredzone.commons.suncalc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+
+import org.assertj.core.data.Offset;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link SubsolarPoint}.
+ */
+public class SubsolarPointTest {
+
+    private static final Offset<Double> ERROR = Offset.offset(0.01);
+
+    @Test
+    public void testSolstice() {
+        SubsolarPoint sp1 = SubsolarPoint.compute().on(2017, 6, 21, 12, 0, 0).utc().execute();
+        assertThat(sp1.getLatitude()).as("latitude").isCloseTo(23.44, ERROR);
+        assertThat(sp1.getLongitude()).as("longitude").isCloseTo(0.47, ERROR);
+        assertThat(sp1.getDistance()).as("distance").isCloseTo(152009145.0, Offset.offset(1.0));
+
+        SubsolarPoint sp2 = SubsolarPoint.compute().on(2017, 12, 21, 0, 0, 0).utc().execute();
+        assertThat(sp2.getLatitude()).as("latitude").isCloseTo(-23.44, ERROR);
+        assertThat(sp2.getLongitude()).as("longitude").isCloseTo(179.49, ERROR);
+    }
+
+    @Test
+    public void testZenith() {
+        SubsolarPoint sp = SubsolarPoint.compute().on(2017, 8, 10, 16, 30, 0).utc().execute();
+        SunPosition pos = SunPosition.compute()
+                        .on(2017, 8, 10, 16, 30, 0).utc()
+                        .at(sp.getLatitude(), sp.getLongitude())
+                        .execute();
+        assertThat(pos.getTrueAltitude()).isCloseTo(90.0, Offset.offset(0.000001));
+        assertThat(pos.getDistance()).isCloseTo(sp.getDistance(), Offset.offset(0.001));
+    }
+
+    @Test
+    public void testSeries() {
+        int count = 48;
+        double[] latitude = new double[count];
+        double[] longitude = new double[count];
+        double[] distance = new double[count];
+
+        SubsolarPoint.Parameters param = SubsolarPoint.compute().on(2017, 8, 10, 0, 0, 0).utc();
+        param.executeSeries(Duration.ofMinutes(30L), count, latitude, longitude, distance);
+
+        for (int ix = 0; ix < count; ix++) {
+            SubsolarPoint expected = SubsolarPoint.compute()
+                        .on(2017, 8, 10, ix / 2, (ix % 2) * 30, 0).utc()
+                        .execute();
+            assertThat(latitude[ix]).as("latitude %d", ix).isEqualTo(expected.getLatitude());
+            assertThat(longitude[ix]).as("longitude %d", ix).isEqualTo(expected.getLongitude());
+            assertThat(distance[ix]).as("distance %d", ix).isEqualTo(expected.getDistance());
+            assertThat(longitude[ix]).as("longitude range %d", ix).isBetween(-180.0, 180.0);
+        }
+
+        param.executeSeries(Duration.ofHours(1L), 2, null, longitude, null);
+
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                        param.executeSeries(Duration.ofHours(1L), count + 1, latitude, null, null));
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                        param.executeSeries(Duration.ofHours(1L), -1, null, null, null));
+    }
+
+    @Test
+    public void testQuery() {
+        SubsolarPoint.Parameters param = SubsolarPoint.compute().on(2017, 8, 10, 0, 0, 0).utc();
+        assertThat(param.query()).isEqualTo(param.copy().query());
+        assertThat(param.query()).isNotEqualTo(param.copy().on(2017, 8, 10, 0, 1, 0).query());
+        assertThat(param.query().execute().toString()).isEqualTo(param.execute().toString());
+
+        // The sun distance depends on the local day, so the time zone is part of the query
+        ZonedDateTime utc = ZonedDateTime.parse("2017-07-04T23:30:00Z");
+        ZonedDateTime local = utc.withZoneSameInstant(ZoneId.of("Europe/Berlin"));
+        SubsolarPoint.Parameters paramUtc = SubsolarPoint.compute().on(utc);
+        SubsolarPoint.Parameters paramLocal = SubsolarPoint.compute().on(local);
+        assertThat(paramUtc.query()).isNotEqualTo(paramLocal.query());
+        assertThat(paramUtc.query().execute().getDistance()).isEqualTo(paramUtc.execute().getDistance());
+        assertThat(paramLocal.query().execute().getDistance()).isEqualTo(paramLocal.execute().getDistance());
+    }
+
+}
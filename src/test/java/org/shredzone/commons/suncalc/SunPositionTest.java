@@ -14,10 +14,18 @@
 package org.shredzone.commons.suncalc;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.shredzone.commons.suncalc.Locations.*;
 
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import org.assertj.core.data.Offset;
 import org.junit.Test;
+import org.shredzone.commons.suncalc.param.EphemerisProvider;
 
 /**
  * Unit tests for {@link SunPosition}.
@@ -171,4 +179,167 @@ public class SunPositionTest {
         assertThat(sp4.getDistance()).as("distance").isCloseTo(149380680.0, ERROR);
     }
 
+    @Test
+    public void testSeries() {
+        // covers the change to daylight saving time
+        ZonedDateTime start = ZonedDateTime.of(2017, 3, 25, 10, 3, 0, 0, COLOGNE_TZ);
+        Duration step = Duration.ofSeconds(1234L, 500000000L);
+        int count = 200;
+
+        double[] azimuth = new double[count];
+        double[] altitude = new double[count];
+        double[] trueAltitude = new double[count];
+        double[] distance = new double[count];
+
+        SunPosition.compute().on(start).at(COLOGNE)
+                .executeSeries(step, count, azimuth, altitude, trueAltitude, distance);
+
+        for (int ix = 0; ix < count; ix++) {
+            SunPosition sp = SunPosition.compute()
+                    .on(start.plus(step.multipliedBy(ix)))
+                    .at(COLOGNE)
+                    .execute();
+            assertThat(azimuth[ix]).as("azimuth[%d]", ix).isEqualTo(sp.getAzimuth());
+            assertThat(altitude[ix]).as("altitude[%d]", ix).isEqualTo(sp.getAltitude());
+            assertThat(trueAltitude[ix]).as("trueAltitude[%d]", ix).isEqualTo(sp.getTrueAltitude());
+            assertThat(distance[ix]).as("distance[%d]", ix).isEqualTo(sp.getDistance());
+        }
+    }
+
+    @Test
+    public void testSeriesReverse() {
+        ZonedDateTime start = ZonedDateTime.of(2017, 7, 12, 13, 10, 0, 0, SINGAPORE_TZ);
+        double[] altitude = new double[3];
+
+        SunPosition.compute().on(start).at(SINGAPORE)
+                .executeSeries(Duration.ofHours(-1L), 3, null, altitude, null, null);
+
+        assertThat(altitude[0]).as("altitude[0]").isCloseTo(69.4, ERROR);
+        assertThat(altitude[2]).as("altitude[2]").isEqualTo(SunPosition.compute()
+                .on(start.minusHours(2L)).at(SINGAPORE).execute().getAltitude());
+    }
+
+    @Test
+    public void testSeriesBadArguments() {
+        SunPosition.Parameters param = SunPosition.compute().at(COLOGNE);
+        Duration step = Duration.ofMinutes(1L);
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> param.executeSeries(step, 3, new double[2], null, null, null));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> param.executeSeries(step, -1, null, null, null, null));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> SunPosition.compute().executeSeries(step, 1, null, null, null, null));
+    }
+
+    @Test
+    public void testLocations() {
+        ZonedDateTime time = ZonedDateTime.of(2017, 7, 12, 13, 37, 0, 0, COLOGNE_TZ);
+        double[][] locations = {COLOGNE, ALERT, WELLINGTON, PUERTO_WILLIAMS, SINGAPORE,
+                        {90.0, 180.0}, {-90.0, -180.0}, {0.0, 0.0}};
+        double[] latitude = new double[locations.length];
+        double[] longitude = new double[locations.length];
+        for (int ix = 0; ix < locations.length; ix++) {
+            latitude[ix] = locations[ix][0];
+            longitude[ix] = locations[ix][1];
+        }
+
+        double[] azimuth = new double[latitude.length];
+        double[] altitude = new double[latitude.length];
+        double[] trueAltitude = new double[latitude.length];
+        double[] distance = new double[latitude.length];
+
+        SunPosition.compute().on(time).at(SINGAPORE)
+                .executeLocations(latitude, longitude, azimuth, altitude, trueAltitude, distance);
+
+        for (int ix = 0; ix < latitude.length; ix++) {
+            SunPosition sp = SunPosition.compute()
+                    .on(time)
+                    .at(latitude[ix], longitude[ix])
+                    .execute();
+            assertThat(azimuth[ix]).as("azimuth[%d]", ix).isEqualTo(sp.getAzimuth());
+            assertThat(altitude[ix]).as("altitude[%d]", ix).isEqualTo(sp.getAltitude());
+            assertThat(trueAltitude[ix]).as("trueAltitude[%d]", ix).isEqualTo(sp.getTrueAltitude());
+            assertThat(distance[ix]).as("distance[%d]", ix).isEqualTo(sp.getDistance());
+        }
+    }
+
+    @Test
+    public void testLocationsBadArguments() {
+        SunPosition.Parameters param = SunPosition.compute();
+
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> param.executeLocations(new double[3], new double[3], new double[2], null, null, null));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> param.executeLocations(new double[3], new double[2], null, null, null, null));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> param.executeLocations(new double[] {91.0}, new double[1], null, null, null, null));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> param.executeLocations(new double[1], new double[] {Double.NaN}, null, null, null, null));
+    }
+
+    @Test
+    public void testLocationsParallel() {
+        int count = 20000;
+        Random rnd = new Random(4711L);
+        double[] latitude = new double[count];
+        double[] longitude = new double[count];
+        for (int ix = 0; ix < count; ix++) {
+            latitude[ix] = rnd.nextDouble() * 180.0 - 90.0;
+            longitude[ix] = rnd.nextDouble() * 360.0 - 180.0;
+        }
+
+        ZonedDateTime time = ZonedDateTime.of(2017, 7, 12, 13, 37, 0, 0, COLOGNE_TZ);
+        SunPosition.Parameters param = SunPosition.compute().on(time);
+
+        double[] expectedAzimuth = new double[count];
+        double[] expectedAltitude = new double[count];
+        param.executeLocations(latitude, longitude, expectedAzimuth, expectedAltitude, null, null);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            double[] azimuth = new double[count];
+            double[] altitude = new double[count];
+            param.executeLocations(executor, latitude, longitude, azimuth, altitude, null, null);
+            assertThat(azimuth).containsExactly(expectedAzimuth);
+            assertThat(altitude).containsExactly(expectedAltitude);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testEphemeris() {
+        CountingEphemeris counting = new CountingEphemeris();
+        SunPosition sp1 = SunPosition.compute()
+                        .on(2017, 7, 12, 16, 10, 0)
+                        .at(COLOGNE)
+                        .timezone(COLOGNE_TZ)
+                        .ephemeris(counting)
+                        .execute();
+        assertThat(sp1.getAzimuth()).as("azimuth").isCloseTo(239.8, ERROR);
+        assertThat(sp1.getAltitude()).as("altitude").isCloseTo(48.6, ERROR);
+        assertThat(counting.getSunCalls()).as("sun calls").isEqualTo(1);
+        assertThat(counting.getMoonCalls()).as("moon calls").isEqualTo(0);
+
+        SunPosition sp2 = SunPosition.compute()
+                        .on(2017, 7, 12, 16, 10, 0)
+                        .at(COLOGNE)
+                        .timezone(COLOGNE_TZ)
+                        .ephemeris(EphemerisProvider.chebyshev())
+                        .execute();
+        assertThat(sp2.getAzimuth()).as("azimuth").isCloseTo(239.8, ERROR);
+        assertThat(sp2.getAltitude()).as("altitude").isCloseTo(48.6, ERROR);
+
+        // A provider passing to the series expansions gives the same distance, even if
+        // the local day differs from the day in UTC
+        SunPosition.Parameters kiritimati = SunPosition.compute()
+                        .on(2024, 4, 2, 8, 0, 0)
+                        .timezone("Pacific/Kiritimati")
+                        .at(1.87, -157.4);
+        assertThat(kiritimati.copy().ephemeris(new CountingEphemeris()).execute().getDistance())
+                        .as("distance")
+                        .isCloseTo(kiritimati.execute().getDistance(), Offset.offset(0.001));
+    }
+
 }
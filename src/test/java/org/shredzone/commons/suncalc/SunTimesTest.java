@@ -15,18 +15,23 @@ package org.shredzone.commons.suncalc;
 
 import static java.lang.Math.abs;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.shredzone.commons.suncalc.Locations.*;
 
 import java.time.Duration;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.assertj.core.api.AbstractDateAssert;
+import org.assertj.core.data.Offset;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.shredzone.commons.suncalc.SunTimes.Twilight;
+import org.shredzone.commons.suncalc.param.EphemerisProvider;
 
 /**
  * Unit tests for {@link SunTimes}.
@@ -94,7 +99,7 @@ public class SunTimesTest {
 
         SunTimes t2 = SunTimes.compute().at(ALERT).on(2017, 9, 24).utc()
                         .execute();
-        assertTimes(t2, "2017-09-24T09:54:29Z", "2017-09-24T22:02:01Z", "2017-09-24T15:59:16Z");
+        assertTimes(t2, "2017-09-24T09:54:29Z", "2017-09-24T22:02:01Z", "2017-09-24T15:59:17Z");
 
         SunTimes t3 = SunTimes.compute().at(ALERT).on(2017, 2, 10).utc()
                         .oneDay()
@@ -111,7 +116,7 @@ public class SunTimesTest {
 
         SunTimes t6 = SunTimes.compute().at(ALERT).on(2017, 9, 6).utc()
                         .execute();
-        assertTimes(t6, "2017-09-06T05:13:15Z", "2017-09-06T03:06:02Z", "2017-09-06T16:05:41Z");
+        assertTimes(t6, "2017-09-06T05:13:15Z", "2017-09-06T03:06:02Z", "2017-09-06T16:05:44Z");
 
         // Summer solstice is the worst case for noon calculation
         SunTimes t7 = SunTimes.compute().at(ALERT).on(2020, 6, 20).utc()
@@ -277,6 +282,80 @@ public class SunTimesTest {
         }
     }
 
+    @Test
+    public void testEvents() {
+        List<SunEvent> events = SunTimes.compute().at(COLOGNE).on(2017, 8, 10).utc()
+                        .limit(Duration.ofDays(2L))
+                        .executeEvents()
+                        .collect(Collectors.toList());
+
+        assertThat(events).hasSize(8);
+        assertEvent(events.get(0), SunEvent.Type.RISE, "2017-08-10T04:11:49Z");
+        assertEvent(events.get(1), SunEvent.Type.NOON, "2017-08-10T11:37:22Z");
+        assertEvent(events.get(2), SunEvent.Type.SET, "2017-08-10T19:02:20Z");
+        assertEvent(events.get(3), SunEvent.Type.NADIR, "2017-08-10T23:37:45Z");
+        assertEvent(events.get(4), SunEvent.Type.RISE, "2017-08-11T04:13:21Z");
+        assertEvent(events.get(5), SunEvent.Type.NOON, "2017-08-11T11:37:12Z");
+        assertEvent(events.get(6), SunEvent.Type.SET, "2017-08-11T19:00:28Z");
+        assertEvent(events.get(7), SunEvent.Type.NADIR, "2017-08-11T23:37:35Z");
+    }
+
+    @Test
+    public void testEventsReverse() {
+        List<SunEvent> events = SunTimes.compute().at(COLOGNE).on(2017, 8, 12).utc()
+                        .limit(Duration.ofDays(2L))
+                        .reverse()
+                        .executeEvents()
+                        .collect(Collectors.toList());
+
+        assertThat(events).hasSize(8);
+        assertEvent(events.get(0), SunEvent.Type.NADIR, "2017-08-11T23:37:35Z");
+        assertEvent(events.get(3), SunEvent.Type.RISE, "2017-08-11T04:13:07Z");
+        assertEvent(events.get(4), SunEvent.Type.NADIR, "2017-08-10T23:37:45Z");
+        assertEvent(events.get(7), SunEvent.Type.RISE, "2017-08-10T04:11:36Z");
+    }
+
+    @Test
+    public void testEventsYear() {
+        ZonedDateTime start = createDate(2017, 1, 1, 0, 0);
+        long acceptableError = 62 * 1000L;
+
+        for (double[] location : new double[][] {COLOGNE, ALERT, WELLINGTON, SINGAPORE}) {
+            List<SunEvent> events = SunTimes.compute().at(location).on(start)
+                            .limit(Duration.ofDays(365L))
+                            .executeEvents()
+                            .collect(Collectors.toList());
+
+            Map<SunEvent.Type, Integer> counts = new EnumMap<>(SunEvent.Type.class);
+            SunEvent previous = null;
+            for (SunEvent event : events) {
+                counts.merge(event.getType(), 1, Integer::sum);
+                if (previous != null) {
+                    assertThat(event.getTime()).as("%s", event).isAfter(previous.getTime());
+                }
+                previous = event;
+
+                SunTimes times = SunTimes.compute().at(location)
+                            .on(event.getTime().minusHours(2L))
+                            .execute();
+                ZonedDateTime expected;
+                switch (event.getType()) {
+                    case RISE: expected = times.getRise(); break;
+                    case SET: expected = times.getSet(); break;
+                    case NOON: expected = times.getNoon(); break;
+                    default: expected = times.getNadir(); break;
+                }
+                assertThat(expected).as("%s", event).isNotNull();
+                long diff = Duration.between(expected, event.getTime()).abs().toMillis();
+                assertThat(diff).as("%s", event).isLessThan(acceptableError);
+            }
+
+            assertThat(counts.get(SunEvent.Type.NOON)).isEqualTo(365);
+            assertThat(counts.get(SunEvent.Type.NADIR)).isEqualTo(365);
+            assertThat(counts.get(SunEvent.Type.RISE)).isEqualTo(counts.get(SunEvent.Type.SET));
+        }
+    }
+
     private ZonedDateTime createDate(int year, int month, int day, int hour, int minute) {
         return ZonedDateTime.of(year, month, day, hour, minute, 0, 0, ZoneId.of("UTC"));
     }
@@ -301,6 +380,11 @@ public class SunTimesTest {
         assertThat(abs(sunPositionAtNadir.getAzimuth() - 360.0)).isLessThan(0.1);
     }
 
+    private void assertEvent(SunEvent event, SunEvent.Type type, String time) {
+        assertThat(event.getType()).as("type").isEqualTo(type);
+        assertThat(event.getTime()).as("%s", type).isEqualTo(time);
+    }
+
     private void assertTimes(SunTimes t, String rise, String set, String noon) {
         assertTimes(t, rise, set, noon, null);
     }
@@ -329,4 +413,190 @@ public class SunTimesTest {
         }
     }
 
+    @Test
+    public void testPolarScan() {
+        // Polar night and polar day are skipped instead of being scanned hour by hour
+        CountingEphemeris c1 = new CountingEphemeris();
+        SunTimes t1 = SunTimes.compute().at(ALERT).on(2017, 11, 1).utc()
+                        .ephemeris(c1)
+                        .execute();
+        assertTimes(t1, "2018-02-27T15:36:37Z", "2018-02-27T17:11:34Z", "2017-11-01T15:51:17Z");
+        assertThat(c1.getSunCalls()).as("sun calls").isLessThan(200);
+
+        CountingEphemeris c2 = new CountingEphemeris();
+        SunTimes t2 = SunTimes.compute().at(ALERT).on(2017, 5, 1).utc()
+                        .ephemeris(c2)
+                        .execute();
+        assertTimes(t2, "2017-09-06T05:13:15Z", "2017-09-06T03:06:02Z", "2017-05-01T16:07:45Z");
+        assertThat(c2.getSunCalls()).as("sun calls").isLessThan(200);
+
+        SunTimes t3 = SunTimes.compute().at(ALERT).on(2017, 11, 1).utc()
+                        .twilight(Twilight.CIVIL)
+                        .execute();
+        assertTimes(t3, "2018-02-13T15:20:59Z", "2018-02-13T17:29:48Z", "2017-11-01T15:51:17Z");
+    }
+
+    @Test
+    public void testAnalytic() {
+        CountingEphemeris c1 = new CountingEphemeris();
+        SunTimes t1 = SunTimes.compute().at(COLOGNE).on(2017, 8, 10).utc()
+                        .ephemeris(c1)
+                        .analytic()
+                        .execute();
+        assertThat(t1.getRise()).as("rise").isEqualTo("2017-08-10T04:11:43Z");
+        assertThat(t1.getSet()).as("set").isEqualTo("2017-08-10T19:02:19Z");
+        assertThat(t1.getNoon()).as("noon").isEqualTo("2017-08-10T11:37:22Z");
+        assertThat(t1.getNadir()).as("nadir").isEqualTo("2017-08-10T23:37:45Z");
+        assertThat(c1.getSunCalls()).as("sun calls").isLessThan(20);
+
+        SunTimes t2 = SunTimes.compute().at(COLOGNE).on(2017, 8, 10).utc()
+                        .analytic()
+                        .reverse()
+                        .execute();
+        assertThat(t2.getRise()).as("rise").isEqualTo("2017-08-09T04:10:11Z");
+        assertThat(t2.getSet()).as("set").isEqualTo("2017-08-09T19:04:09Z");
+        assertThat(t2.getNoon()).as("noon").isEqualTo("2017-08-09T11:37:31Z");
+        assertThat(t2.getNadir()).as("nadir").isEqualTo("2017-08-09T23:37:54Z");
+
+        // Falls back to the hourly scan in polar regions
+        SunTimes t3 = SunTimes.compute().at(ALERT).on(2017, 11, 1).utc()
+                        .analytic()
+                        .execute();
+        assertTimes(t3, "2018-02-27T15:36:37Z", "2018-02-27T17:11:34Z", "2017-11-01T15:51:17Z");
+
+        assertThat(SunTimes.compute().at(COLOGNE).on(2017, 8, 10).analytic().query())
+                .isNotEqualTo(SunTimes.compute().at(COLOGNE).on(2017, 8, 10).query());
+    }
+
+    @Test
+    public void testTwilights() {
+        CountingEphemeris c1 = new CountingEphemeris();
+        Map<Twilight, SunTimes> times = SunTimes.compute().at(COLOGNE).on(2017, 8, 10).utc()
+                        .ephemeris(c1)
+                        .executeTwilights();
+        assertThat(times.keySet()).containsExactly(Twilight.values());
+
+        CountingEphemeris c2 = new CountingEphemeris();
+        for (Twilight twilight : Twilight.values()) {
+            SunTimes expected = SunTimes.compute().at(COLOGNE).on(2017, 8, 10).utc()
+                        .ephemeris(c2)
+                        .twilight(twilight)
+                        .execute();
+            assertThat(times.get(twilight).toString()).as(twilight.name()).isEqualTo(expected.toString());
+        }
+        assertThat(c1.getSunCalls() * 5).as("sun calls").isLessThan(c2.getSunCalls());
+
+        Map<Twilight, SunTimes> polar = SunTimes.compute().at(ALERT).on(2017, 11, 1).utc()
+                        .executeTwilights(Twilight.VISUAL, Twilight.CIVIL);
+        assertThat(polar.keySet()).containsExactly(Twilight.VISUAL, Twilight.CIVIL);
+        assertTimes(polar.get(Twilight.VISUAL), "2018-02-27T15:36:37Z", "2018-02-27T17:11:34Z", "2017-11-01T15:51:17Z");
+        assertTimes(polar.get(Twilight.CIVIL), "2018-02-13T15:20:59Z", "2018-02-13T17:29:48Z", "2017-11-01T15:51:17Z");
+
+        List<SunTimes> angles = SunTimes.compute().at(COLOGNE).on(2017, 8, 10).utc()
+                        .executeAngles(-6.0, 3.5);
+        assertThat(angles).hasSize(2);
+        assertThat(angles.get(0).toString()).isEqualTo(times.get(Twilight.CIVIL).toString());
+        assertThat(angles.get(1).toString()).isEqualTo(SunTimes.compute().at(COLOGNE).on(2017, 8, 10).utc()
+                        .twilight(3.5).execute().toString());
+    }
+
+    @Test
+    public void testGrid() {
+        ZonedDateTime start = ZonedDateTime.of(2017, 8, 10, 0, 0, 0, 0, ZoneId.of("UTC"));
+        double[] rise = new double[6];
+        double[] set = new double[6];
+        double[] dayLength = new double[6];
+        SunTimes.compute().on(start)
+                        .executeGrid(52.0, 6.0, 50.0, 9.0, 2, 3, rise, set, dayLength);
+
+        for (int row = 0; row < 2; row++) {
+            for (int column = 0; column < 3; column++) {
+                int ix = row * 3 + column;
+                SunTimes expected = SunTimes.compute().on(start)
+                        .at(51.5 - row, 6.5 + column)
+                        .analytic()
+                        .execute();
+                assertThat(abs(rise[ix] * 3600.0 - Duration.between(start, expected.getRise()).getSeconds()))
+                        .as("rise %d", ix).isLessThanOrEqualTo(1.0);
+                assertThat(abs(set[ix] * 3600.0 - Duration.between(start, expected.getSet()).getSeconds()))
+                        .as("set %d", ix).isLessThanOrEqualTo(1.0);
+                assertThat(dayLength[ix]).as("dayLength %d", ix).isEqualTo(set[ix] - rise[ix]);
+            }
+        }
+
+        // Polar night, falls back to the hourly scan
+        double[] polarRise = new double[2];
+        double[] polarDayLength = new double[2];
+        SunTimes.compute().on(2017, 11, 1).utc()
+                        .executeGrid(83.0, -63.0, 82.0, -61.0, 1, 2, polarRise, null, polarDayLength);
+        SunTimes polar = SunTimes.compute().on(2017, 11, 1).utc().at(82.5, -62.5).execute();
+        assertThat(polarRise[0] * 3600.0).isEqualTo(Duration.between(start.withMonth(11).withDayOfMonth(1),
+                        polar.getRise()).getSeconds());
+        assertThat(polarDayLength[0]).isEqualTo(0.0);
+        assertThat(polarDayLength[1]).isEqualTo(0.0);
+
+        double[] noRise = new double[1];
+        SunTimes.compute().on(2017, 11, 1).utc().limit(Duration.ofDays(1L))
+                        .executeGrid(83.0, -63.0, 82.0, -62.0, 1, 1, noRise, null, null);
+        assertThat(noRise[0]).isNaN();
+
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                        SunTimes.compute().executeGrid(50.0, 6.0, 52.0, 9.0, 2, 3, rise, null, null));
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                        SunTimes.compute().executeGrid(52.0, 9.0, 50.0, 6.0, 2, 3, rise, null, null));
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                        SunTimes.compute().executeGrid(52.0, 6.0, 50.0, 9.0, 0, 3, rise, null, null));
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                        SunTimes.compute().executeGrid(52.0, 6.0, 50.0, 9.0, 3, 3, rise, null, null));
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                        SunTimes.compute().executeGrid(52.0, 400.0, 50.0, 401.0, 1, 1, noRise, null, null));
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                        SunTimes.compute().executeGrid(52.0, 180.0, 50.0, 181.0, 1, 1, noRise, null, null));
+    }
+
+    @Test
+    public void testGridDayLength() {
+        // The window starts shortly before sunrise, so the sun rises again before its end
+        ZonedDateTime spring = ZonedDateTime.parse("2024-03-31T00:00+01:00[Europe/Berlin]");
+        assertGridDayLength(spring, 64.28, 95.0, Duration.ofDays(1L), 13.522);
+        assertGridDayLength(spring, 64.28, 95.0, Duration.ofDays(2L), 13.522);
+
+        // The window starts shortly before sunset, and the sun sets again before its end
+        ZonedDateTime autumn = ZonedDateTime.parse("2024-09-22T00:00-07:00[America/Los_Angeles]");
+        assertGridDayLength(autumn, 88.01, -173.0, Duration.ofDays(1L), 14.858);
+
+        // Going back in time
+        ZonedDateTime evening = ZonedDateTime.parse("2024-04-01T01:00+02:00[Europe/Berlin]");
+        assertGridDayLength(evening, 64.28, 95.0, Duration.ofDays(-1L), 13.522);
+    }
+
+    private void assertGridDayLength(ZonedDateTime start, double lat, double lng,
+                    Duration limit, double expected) {
+        double[] dayLength = new double[1];
+        SunTimes.compute().on(start).limit(limit)
+                        .executeGrid(lat + 0.005, lng - 0.005, lat - 0.005, lng + 0.005, 1, 1,
+                                        null, null, dayLength);
+        assertThat(dayLength[0]).as("dayLength at %s", start).isCloseTo(expected, Offset.offset(0.01));
+    }
+
+    @Test
+    public void testEphemeris() {
+        CountingEphemeris counting = new CountingEphemeris();
+        SunTimes t1 = SunTimes.compute().at(COLOGNE).on(2017, 8, 10).utc()
+                        .ephemeris(counting)
+                        .execute();
+        assertThat(t1.getRise()).as("rise").isEqualTo("2017-08-10T04:11:49Z");
+        assertThat(t1.getSet()).as("set").isEqualTo("2017-08-10T19:02:20Z");
+        assertThat(counting.getSunCalls()).as("sun calls").isGreaterThan(0);
+        assertThat(counting.getMoonCalls()).as("moon calls").isEqualTo(0);
+
+        SunTimes t2 = SunTimes.compute().at(COLOGNE).on(2017, 8, 10).utc()
+                        .ephemeris(EphemerisProvider.chebyshev())
+                        .execute();
+        assertThat(t2.getRise()).as("rise").isEqualTo("2017-08-10T04:11:49Z");
+        assertThat(t2.getSet()).as("set").isEqualTo("2017-08-10T19:02:20Z");
+        assertThat(t2.getNoon()).as("noon").isEqualTo("2017-08-10T11:37:22Z");
+        assertThat(t2.getNadir()).as("nadir").isEqualTo("2017-08-10T23:37:45Z");
+    }
+
 }
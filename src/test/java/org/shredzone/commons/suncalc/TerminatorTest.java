@@ -0,0 +1,128 @@
+/*
+ * Shredzone Commons - suncalc
+ *
+ * Copyright (C) 2026 Richard "Shred" Körber
+ *   http://commons.shredzone.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ */
+package org.shredzone.commons.suncalc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.BitSet;
+
+import org.assertj.core.data.Offset;
+import org.junit.Test;
+import org.shredzone.commons.suncalc.SunTimes.Twilight;
+
+/**
+ * Unit tests for {@link Terminator}.
+ */
+public class TerminatorTest {
+
+    private static final Offset<Double> ERROR = Offset.offset(0.000001);
+
+    @Test
+    public void testHorizon() {
+        Terminator terminator = Terminator.compute()
+                        .on(2017, 8, 10, 10, 30, 0).utc()
+                        .twilight(Twilight.HORIZON)
+                        .execute();
+        double[] lat = terminator.getLatitudes();
+        double[] lng = terminator.getLongitudes();
+        assertThat(lat.length).isEqualTo(360);
+        assertThat(lng.length).isEqualTo(360);
+
+        for (int ix = 0; ix < lat.length; ix++) {
+            assertThat(lng[ix]).as("longitude %d", ix).isBetween(-180.0, 180.0);
+            SunPosition pos = SunPosition.compute()
+                        .on(2017, 8, 10, 10, 30, 0).utc()
+                        .at(lat[ix], lng[ix])
+                        .execute();
+            assertThat(pos.getTrueAltitude()).as("altitude %d", ix).isCloseTo(0.0, ERROR);
+        }
+
+        assertThat(terminator.toString()).isEqualTo("Terminator[points=360]");
+    }
+
+    @Test
+    public void testTwilight() {
+        Terminator terminator = Terminator.compute()
+                        .on(2017, 12, 21, 17, 0, 0).utc()
+                        .twilight(Twilight.CIVIL)
+                        .points(24)
+                        .execute();
+        double[] lat = terminator.getLatitudes();
+        double[] lng = terminator.getLongitudes();
+        assertThat(lat.length).isEqualTo(24);
+
+        for (int ix = 0; ix < lat.length; ix++) {
+            SunPosition pos = SunPosition.compute()
+                        .on(2017, 12, 21, 17, 0, 0).utc()
+                        .at(lat[ix], lng[ix])
+                        .execute();
+            assertThat(pos.getTrueAltitude()).as("altitude %d", ix).isCloseTo(-6.0, ERROR);
+        }
+
+        assertThatIllegalArgumentException().isThrownBy(() -> Terminator.compute().points(2));
+    }
+
+    @Test
+    public void testMask() {
+        int rows = 18;
+        int columns = 36;
+        BitSet mask = Terminator.compute()
+                        .on(2017, 8, 10, 10, 30, 0).utc()
+                        .twilight(Twilight.NAUTICAL)
+                        .executeMask(90.0, -180.0, -90.0, 180.0, rows, columns);
+
+        double[] lat = new double[rows * columns];
+        double[] lng = new double[rows * columns];
+        for (int ix = 0; ix < lat.length; ix++) {
+            lat[ix] = 85.0 - (ix / columns) * 10.0;
+            lng[ix] = -175.0 + (ix % columns) * 10.0;
+        }
+        double[] altitude = new double[rows * columns];
+        SunPosition.compute()
+                        .on(2017, 8, 10, 10, 30, 0).utc()
+                        .executeLocations(lat, lng, null, null, altitude, null);
+
+        for (int ix = 0; ix < altitude.length; ix++) {
+            assertThat(mask.get(ix)).as("cell %d", ix).isEqualTo(altitude[ix] > -12.0);
+        }
+        assertThat(mask.cardinality()).isBetween(1, rows * columns - 1);
+
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                        Terminator.compute().executeMask(-90.0, -180.0, 90.0, 180.0, rows, columns));
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                        Terminator.compute().executeMask(90.0, -180.0, -90.0, 180.0, rows, 0));
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                        Terminator.compute().executeMask(90.0, 400.0, -90.0, 410.0, rows, columns));
+    }
+
+    @Test
+    public void testQuery() {
+        Terminator.Parameters param = Terminator.compute().on(2017, 8, 10, 10, 30, 0).utc();
+        assertThat(param.query()).isEqualTo(param.copy().query());
+        assertThat(param.query()).isNotEqualTo(param.copy().twilight(Twilight.CIVIL).query());
+        assertThat(param.query()).isNotEqualTo(param.copy().points(90).query());
+
+        // The sun distance depends on the local day, so the time zone is part of the query
+        ZonedDateTime utc = ZonedDateTime.parse("2017-07-04T23:30:00Z");
+        ZonedDateTime local = utc.withZoneSameInstant(ZoneId.of("Europe/Berlin"));
+        assertThat(Terminator.compute().on(utc).query())
+                .isNotEqualTo(Terminator.compute().on(local).query());
+        assertThat(Terminator.compute().on(local).query().execute().getLatitudes())
+                .containsExactly(Terminator.compute().on(local).execute().getLatitudes());
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Shredzone Commons - suncalc
+ *
+ * Copyright (C) 2018 Richard "Shred" Körber
+ *   http://commons.shredzone.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ */
+package org.shredzone.commons.suncalc.util;
+
+import static java.lang.Math.PI;
+import static java.lang.Math.abs;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Random;
+
+import org.assertj.core.data.Offset;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ChebyshevEphemeris}.
+ */
+public class ChebyshevEphemerisTest {
+
+    private static final Offset<Double> ANGLE_ERROR = Offset.offset(1e-9);
+    private static final Offset<Double> DISTANCE_ERROR = Offset.offset(1e-4);
+
+    private final JulianDate base = new JulianDate(ZonedDateTime.of(1900, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+
+    @Test
+    public void testSun() {
+        Random rnd = new Random(4711L);
+        for (int ix = 0; ix < 2000; ix++) {
+            JulianDate date = base.atModifiedJulianDate(15020.0 + rnd.nextDouble() * 73050.0);
+            Vector expected = Sun.positionEquatorial(date);
+            Vector actual = ChebyshevEphemeris.sunPositionEquatorial(date);
+            assertThat(angleDiff(actual.getPhi(), expected.getPhi())).isCloseTo(0.0, ANGLE_ERROR);
+            assertThat(actual.getTheta()).isEqualTo(expected.getTheta());
+            assertThat(actual.getR()).isEqualTo(expected.getR());
+        }
+    }
+
+    @Test
+    public void testMoon() {
+        Random rnd = new Random(4711L);
+        for (int ix = 0; ix < 2000; ix++) {
+            JulianDate date = base.atModifiedJulianDate(15020.0 + rnd.nextDouble() * 73050.0);
+            assertMoon(date);
+        }
+    }
+
+    @Test
+    public void testMoonSeries() {
+        // Two synodic months in steps of 10 minutes, covering interval boundaries and
+        // the wrap of the longitude at 0
+        JulianDate start = base.atModifiedJulianDate(57970.0);
+        for (int ix = 0; ix < 8500; ix++) {
+            assertMoon(start.atHour(ix / 6.0));
+        }
+    }
+
+    private void assertMoon(JulianDate date) {
+        Vector expected = Moon.positionEquatorial(date);
+        Vector actual = ChebyshevEphemeris.moonPositionEquatorial(date);
+        assertThat(actual.getPhi()).isBetween(0.0, 2.0 * PI);
+        assertThat(angleDiff(actual.getPhi(), expected.getPhi())).isCloseTo(0.0, ANGLE_ERROR);
+        assertThat(actual.getTheta()).isCloseTo(expected.getTheta(), ANGLE_ERROR);
+        assertThat(actual.getR()).isCloseTo(expected.getR(), DISTANCE_ERROR);
+    }
+
+    private static double angleDiff(double a, double b) {
+        double diff = abs(a - b);
+        return diff > PI ? 2.0 * PI - diff : diff;
+    }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * Shredzone Commons - suncalc
+ *
+ * Copyright (C) 2018 Richard "Shred" Körber
+ *   http://commons.shredzone.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ */
+package org.shredzone.commons.suncalc.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.function.DoubleUnaryOperator;
+
+import org.assertj.core.data.Offset;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link Chebyshev}.
+ */
+public class ChebyshevTest {
+
+    private static final Offset<Double> ERROR = Offset.offset(1e-12);
+
+    @Test
+    public void testNodes() {
+        double[] nodes = Chebyshev.nodes(2.0, 4.0, 3);
+        assertThat(nodes.length).isEqualTo(3);
+        assertThat(nodes[0]).isCloseTo(3.0 + Math.sqrt(3.0) / 2.0, ERROR);
+        assertThat(nodes[1]).isCloseTo(3.0, ERROR);
+        assertThat(nodes[2]).isCloseTo(3.0 - Math.sqrt(3.0) / 2.0, ERROR);
+    }
+
+    @Test
+    public void testPolynomial() {
+        // A polynomial of degree 3 is reproduced exactly by 4 nodes
+        DoubleUnaryOperator f = x -> 2.0 * x * x * x - x * x + 0.5 * x - 7.0;
+        Chebyshev cheb = fit(-1.5, 3.0, 4, f);
+
+        assertThat(cheb.getStart()).isEqualTo(-1.5);
+        assertThat(cheb.getEnd()).isEqualTo(3.0);
+        for (double x = -1.5; x <= 3.0; x += 0.125) {
+            assertThat(cheb.evaluate(x)).isCloseTo(f.applyAsDouble(x), ERROR);
+        }
+    }
+
+    @Test
+    public void testCosine() {
+        Chebyshev cheb = fit(0.0, Math.PI, 16, Math::cos);
+        for (double x = 0.0; x <= Math.PI; x += 0.01) {
+            assertThat(cheb.evaluate(x)).isCloseTo(Math.cos(x), ERROR);
+        }
+    }
+
+    @Test
+    public void testBadArguments() {
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                Chebyshev.fit(1.0, 1.0, new double[] {1.0}));
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                Chebyshev.fit(0.0, 1.0, new double[0]));
+    }
+
+    private Chebyshev fit(double start, double end, int count, DoubleUnaryOperator f) {
+        double[] nodes = Chebyshev.nodes(start, end, count);
+        double[] samples = new double[count];
+        for (int ix = 0; ix < count; ix++) {
+            samples[ix] = f.applyAsDouble(nodes[ix]);
+        }
+        return Chebyshev.fit(start, end, samples);
+    }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Shredzone Commons - suncalc
+ *
+ * Copyright (C) 2018 Richard "Shred" Körber
+ *   http://commons.shredzone.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ */
+package org.shredzone.commons.suncalc.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+
+import org.assertj.core.data.Offset;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link EphemerisFile}.
+ */
+public class EphemerisFileTest {
+
+    private static final Offset<Double> ERROR = Offset.offset(1e-9);
+
+    @Test
+    public void testWriteAndOpen() throws IOException {
+        Path file = Files.createTempFile("suncalc", ".eph");
+        try {
+            EphemerisFile.write(file, 2017, 2018);
+            EphemerisFile eph = EphemerisFile.open(file);
+
+            JulianDate start = new JulianDate(ZonedDateTime.of(2017, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC));
+            for (int ix = 0; ix < 730 * 8; ix++) {
+                JulianDate date = start.atHour(ix * 3.0 + 0.25);
+                assertVector(eph.sunPositionEquatorial(date), ChebyshevEphemeris.sunPositionEquatorial(date));
+                assertVector(eph.moonPositionEquatorial(date), ChebyshevEphemeris.moonPositionEquatorial(date));
+            }
+
+            // Dates outside of the file are computed from the series
+            JulianDate outside = start.atHour(-48.0);
+            assertVector(eph.sunPositionEquatorial(outside), Sun.positionEquatorial(outside));
+            assertVector(eph.moonPositionEquatorial(outside), Moon.positionEquatorial(outside));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testBadFile() throws IOException {
+        Path file = Files.createTempFile("suncalc", ".eph");
+        try {
+            Files.write(file, new byte[100]);
+            assertThatIOException().isThrownBy(() -> EphemerisFile.open(file));
+
+            EphemerisFile.write(file, 2017, 2017);
+            byte[] content = Files.readAllBytes(file);
+            Files.write(file, Arrays.copyOf(content, content.length - 8));
+            assertThatIOException().isThrownBy(() -> EphemerisFile.open(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testBadArguments() {
+        assertThatIllegalArgumentException().isThrownBy(() ->
+                EphemerisFile.write(Paths.get("never-written.eph"), 2018, 2017));
+    }
+
+    private void assertVector(Vector actual, Vector expected) {
+        assertThat(actual.getPhi()).isCloseTo(expected.getPhi(), ERROR);
+        assertThat(actual.getTheta()).isCloseTo(expected.getTheta(), ERROR);
+        assertThat(actual.getR()).isCloseTo(expected.getR(), ERROR);
+    }
+
+}
@@ -0,0 +1,128 @@
+/*
+ * Shredzone Commons - suncalc
+ *
+ * Copyright (C) 2026 Richard "Shred" Körber
+ *   http://commons.shredzone.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ */
+package org.shredzone.commons.suncalc.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.assertj.core.api.Assertions.offset;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import org.junit.Test;
+import org.shredzone.commons.suncalc.param.EphemerisProvider;
+
+/**
+ * Unit tests for {@link Ephemeris}.
+ */
+public class EphemerisTest {
+
+    private final JulianDate jd = new JulianDate(ZonedDateTime.of(2017, 8, 10, 12, 0, 0, 0, ZoneOffset.UTC));
+
+    @Test
+    public void testSeries() {
+        assertThat(EphemerisProvider.series()).isSameAs(Ephemeris.SERIES);
+        assertThat(Ephemeris.of(EphemerisProvider.series())).isSameAs(Ephemeris.SERIES);
+
+        assertVector(Ephemeris.SERIES.sunPositionEquatorial(jd), Sun.positionEquatorial(jd));
+        assertVector(Ephemeris.SERIES.moonPositionEquatorial(jd), Moon.positionEquatorial(jd));
+
+        double[] sun = Ephemeris.SERIES.sunPosition(jd.getModifiedJulianDate());
+        assertVector(Vector.ofPolar(sun[0], sun[1], sun[2]), Sun.positionEquatorial(jd));
+        double[] moon = Ephemeris.SERIES.moonPosition(jd.getModifiedJulianDate());
+        assertVector(Vector.ofPolar(moon[0], moon[1], moon[2]), Moon.positionEquatorial(jd));
+    }
+
+    @Test
+    public void testChebyshev() {
+        assertThat(EphemerisProvider.chebyshev()).isSameAs(Ephemeris.CHEBYSHEV);
+        assertVector(Ephemeris.CHEBYSHEV.moonPositionEquatorial(jd),
+                ChebyshevEphemeris.moonPositionEquatorial(jd));
+    }
+
+    @Test
+    public void testProvider() {
+        EphemerisProvider provider = new EphemerisProvider() {
+            @Override
+            public double[] sunPosition(double mjd) {
+                return new double[] {1.0, 0.0, mjd};
+            }
+
+            @Override
+            public double[] moonPosition(double mjd) {
+                return new double[] {2.0, 0.1, 384400.0};
+            }
+        };
+
+        Ephemeris ephemeris = Ephemeris.of(provider);
+        assertVector(ephemeris.sunPositionEquatorial(jd), Vector.ofPolar(1.0, 0.0, jd.getModifiedJulianDate()));
+        assertVector(ephemeris.moonPositionEquatorial(jd), Vector.ofPolar(2.0, 0.1, 384400.0));
+
+        assertThat(Ephemeris.of(provider)).isEqualTo(ephemeris);
+        assertThat(Ephemeris.of(provider).hashCode()).isEqualTo(ephemeris.hashCode());
+        assertThat(Ephemeris.of(ephemeris)).isSameAs(ephemeris);
+        assertThat(Ephemeris.of(EphemerisProvider.series())).isNotEqualTo(ephemeris);
+    }
+
+    @Test
+    public void testPassThroughProvider() {
+        EphemerisProvider provider = new EphemerisProvider() {
+            @Override
+            public double[] sunPosition(double mjd) {
+                return EphemerisProvider.series().sunPosition(mjd);
+            }
+
+            @Override
+            public double[] moonPosition(double mjd) {
+                return EphemerisProvider.series().moonPosition(mjd);
+            }
+        };
+
+        // The local day differs from the day in UTC
+        JulianDate local = new JulianDate(ZonedDateTime.of(2024, 4, 2, 8, 0, 0, 0, ZoneId.of("Pacific/Kiritimati")));
+        Ephemeris ephemeris = Ephemeris.of(provider);
+        Vector expected = Ephemeris.SERIES.sunPositionEquatorial(local);
+        Vector actual = ephemeris.sunPositionEquatorial(local);
+        assertThat(actual.getPhi()).isEqualTo(expected.getPhi());
+        assertThat(actual.getTheta()).isEqualTo(expected.getTheta());
+        assertThat(actual.getR()).isCloseTo(expected.getR(), offset(0.001));
+        assertVector(ephemeris.moonPositionEquatorial(local), Ephemeris.SERIES.moonPositionEquatorial(local));
+    }
+
+    @Test
+    public void testBadProvider() {
+        Ephemeris ephemeris = Ephemeris.of(new EphemerisProvider() {
+            @Override
+            public double[] sunPosition(double mjd) {
+                return new double[] {1.0, 0.0};
+            }
+
+            @Override
+            public double[] moonPosition(double mjd) {
+                return new double[0];
+            }
+        });
+
+        assertThatIllegalStateException().isThrownBy(() -> ephemeris.sunPositionEquatorial(jd));
+        assertThatIllegalStateException().isThrownBy(() -> ephemeris.moonPositionEquatorial(jd));
+    }
+
+    private void assertVector(Vector actual, Vector expected) {
+        assertThat(actual.getPhi()).isEqualTo(expected.getPhi());
+        assertThat(actual.getTheta()).isEqualTo(expected.getTheta());
+        assertThat(actual.getR()).isEqualTo(expected.getR());
+    }
+
+}
@@ -13,6 +13,11 @@
  */
 package org.shredzone.commons.suncalc.util;
 
+import static java.lang.Math.abs;
+import static java.lang.Math.PI;
+import static java.lang.Math.cos;
+import static java.lang.Math.toDegrees;
+import static java.lang.Math.toRadians;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.shredzone.commons.suncalc.util.ExtendedMath.*;
 
@@ -37,6 +42,19 @@ public class ExtendedMathTest {
         assertThat(frac(-123.25)).isCloseTo(-0.25, ERROR);
     }
 
+    @Test
+    public void testNormalizeLongitude() {
+        assertThat(normalizeLongitude( 0.0      )).isCloseTo( 0.0      , ERROR);
+        assertThat(normalizeLongitude( 1.0      )).isCloseTo( 1.0      , ERROR);
+        assertThat(normalizeLongitude(-1.0      )).isCloseTo(-1.0      , ERROR);
+        assertThat(normalizeLongitude( PI       )).isCloseTo(-PI       , ERROR);
+        assertThat(normalizeLongitude(-PI       )).isCloseTo(-PI       , ERROR);
+        assertThat(normalizeLongitude( PI + 1.0 )).isCloseTo(-PI + 1.0 , ERROR);
+        assertThat(normalizeLongitude(-PI - 1.0 )).isCloseTo( PI - 1.0 , ERROR);
+        assertThat(normalizeLongitude( 5.0 * PI2 + 0.5)).isCloseTo(0.5 , ERROR);
+        assertThat(normalizeLongitude(-5.0 * PI2 - 0.5)).isCloseTo(-0.5, ERROR);
+    }
+
     @Test
     public void testIsZero() {
         assertThat(isZero( 1.0   )).isFalse();
@@ -51,6 +69,33 @@ public class ExtendedMathTest {
         assertThat(isZero( Double.NEGATIVE_INFINITY)).isFalse();
     }
 
+    @Test
+    public void testHeightRate() {
+        double sunRate = toRadians(0.05);
+        double moonRate = toRadians(0.5);
+        assertThat(toDegrees(maxHeightRate(0.0, sunRate))).isCloseTo(15.1, ERROR);
+        assertThat(toDegrees(maxHeightRate(toRadians(80.0), sunRate))).isCloseTo(2.663, ERROR);
+        assertThat(toDegrees(maxHeightRate(toRadians(80.0), moonRate))).isCloseTo(3.113, ERROR);
+
+        // At the equator, only the earth rotation limits the height
+        double lat = 0.0;
+        Matrix toEquatorial = equatorialToHorizontal(lat).transpose();
+        Vector pos = equatorialToHorizontal(toRadians(-60.0), toRadians(-20.0), 1.0, lat);
+        double maxRate = maxHeightRate(lat, sunRate);
+        assertThat(skipHours(pos, pos.getTheta(), lat, maxRate, sunRate, toEquatorial))
+                .isEqualTo((int) (pos.getTheta() / maxRate));
+
+        // In the polar night, the upper culmination stays below the horizon
+        lat = toRadians(80.0);
+        toEquatorial = equatorialToHorizontal(lat).transpose();
+        pos = equatorialToHorizontal(PI, toRadians(-20.0), 1.0, lat);
+        assertThat(toDegrees(pos.getTheta())).isCloseTo(-30.0, ERROR);
+        assertThat(skipHours(pos, pos.getTheta(), lat, maxHeightRate(lat, sunRate), sunRate, toEquatorial))
+                .isEqualTo(186);
+        assertThat(skipHours(pos, pos.getTheta(), lat, maxHeightRate(lat, moonRate), moonRate, toEquatorial))
+                .isEqualTo(18);
+    }
+
     @Test
     public void testDms() {
         // Valid parameters
@@ -67,4 +112,27 @@ public class ExtendedMathTest {
         assertThat(dms(  1,  80, 132.0)).isEqualTo(2.37);   // 2° 22' 12.0"
     }
 
+    @Test
+    public void testReadjust() {
+        // f(x) = -(x - 1.3)^2 has its maximum at x = 1.3
+        assertThat(readjustMax(1.0, 2.0, 14, x -> -(x - 1.3) * (x - 1.3))).isCloseTo(1.3, ERROR);
+
+        // f(x) = (x + 0.7)^2 has its minimum at x = -0.7
+        assertThat(readjustMin(0.0, 2.0, 14, x -> (x + 0.7) * (x + 0.7))).isCloseTo(-0.7, ERROR);
+
+        // A good estimation needs only a few invocations
+        int[] calls = new int[1];
+        assertThat(readjustMax(1.25, 2.0, 14, x -> {
+            calls[0]++;
+            return cos(x - 1.3);
+        })).isCloseTo(1.3, ERROR);
+        assertThat(calls[0]).as("invocations").isLessThan(14);
+
+        // f(x) = -|x - 0.4| is not a parabola, but has its maximum at x = 0.4
+        assertThat(readjustMax(0.0, 2.0, 14, x -> -abs(x - 0.4))).isCloseTo(0.4, ERROR);
+
+        // f(x) = x has its maximum at the right interval border
+        assertThat(readjustMax(0.0, 2.0, 14, x -> x)).isCloseTo(2.0, ERROR);
+    }
+
 }
@@ -17,6 +17,8 @@ import static java.lang.Math.PI;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.data.Offset.offset;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 
@@ -52,6 +54,55 @@ public class JulianDateTest {
         assertDate(jd4, "2017-08-19T08:30:00+02:00");
     }
 
+    @Test
+    public void testAtHourDaylightSaving() {
+        JulianDate jd = new JulianDate(of(2017, 3, 25, 12, 0, 0, "Europe/Berlin"));
+        assertDate(jd, "2017-03-25T12:00:00+01:00");
+
+        JulianDate jd2 = jd.atHour(24.0);
+        assertDate(jd2, "2017-03-26T13:00:00+02:00");
+
+        JulianDate jd3 = jd2.atHour(-24.0);
+        assertDate(jd3, "2017-03-25T12:00:00+01:00");
+
+        JulianDate jd4 = jd.atHour(24.0 * 250.0);
+        assertDate(jd4, "2017-11-30T12:00:00+01:00");
+    }
+
+    @Test
+    public void testAtExactHour() {
+        JulianDate jd = new JulianDate(of(2017, 8, 19, 0, 0, 0, "UTC"));
+
+        JulianDate jd2 = jd.atExactHour(8.5 + 0.25 / 3600.0);
+        assertThat(jd2.getDateTime()).isEqualTo("2017-08-19T08:30:00.250Z");
+        assertThat(jd.atHour(8.5 + 0.25 / 3600.0).getDateTime()).isEqualTo("2017-08-19T08:30:00Z");
+
+        JulianDate jd3 = jd.atExactHour(-0.25 / 3600.0);
+        assertThat(jd3.getDateTime()).isEqualTo("2017-08-18T23:59:59.750Z");
+        assertThat(jd3.getModifiedJulianDate()).isLessThan(jd.getModifiedJulianDate());
+    }
+
+    @Test
+    public void testPlus() {
+        JulianDate jd = new JulianDate(of(2017, 3, 25, 12, 0, 0, "Europe/Berlin"));
+
+        JulianDate jd2 = jd.plus(Duration.ofHours(24L));
+        assertDate(jd2, "2017-03-26T13:00:00+02:00");
+
+        JulianDate jd3 = jd2.plus(Duration.ofMillis(-1500L));
+        assertThat(jd3.getDateTime()).isEqualTo(jd2.getDateTime().minusNanos(1500000000L));
+        assertThat(jd3.getModifiedJulianDate())
+                .isCloseTo(jd2.getModifiedJulianDate() - 1.5 / 86400.0, offset(1e-9));
+    }
+
+    @Test
+    public void testDayOfYear() {
+        for (long epochDay = -200000L; epochDay <= 200000L; epochDay++) {
+            assertThat(JulianDate.dayOfYear(epochDay)).as("epochDay %d", epochDay)
+                    .isEqualTo(LocalDate.ofEpochDay(epochDay).getDayOfYear());
+        }
+    }
+
     @Test
     public void testModifiedJulianDate() {
         // MJD epoch is midnight of November 17th, 1858.
@@ -96,6 +147,18 @@ public class JulianDateTest {
         assertThat(jd2.getTrueAnomaly()).isCloseTo(PI, offset(0.1));
     }
 
+    @Test
+    public void testTrueAnomalyLocalDate() {
+        // true anomaly is based on the local date
+        JulianDate jd1 = new JulianDate(of(2017, 7, 4, 23, 30, 0, "UTC"));
+        JulianDate jd2 = jd1.atModifiedJulianDate(jd1.getModifiedJulianDate());
+        JulianDate jd3 = new JulianDate(of(2017, 7, 5, 1, 30, 0, "Europe/Berlin"));
+        JulianDate jd4 = new JulianDate(of(2017, 7, 5, 0, 30, 0, "UTC"));
+        assertThat(jd2.getTrueAnomaly()).isEqualTo(jd1.getTrueAnomaly());
+        assertThat(jd3.getTrueAnomaly()).isNotEqualTo(jd1.getTrueAnomaly());
+        assertThat(jd3.getTrueAnomaly()).isEqualTo(jd4.getTrueAnomaly());
+    }
+
     @Test
     public void testAtModifiedJulianDate() {
         JulianDate jd1 = new JulianDate(of(2017, 8, 19, 15, 6, 16, "UTC"));
@@ -0,0 +1,110 @@
+/*
+ * Shredzone Commons - suncalc
+ *
+ * Copyright (C) 2026 Richard "Shred" Körber
+ *   http://commons.shredzone.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ */
+package org.shredzone.commons.suncalc.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ParallelExecution}.
+ */
+public class ParallelExecutionTest {
+
+    @Test
+    public void testExecute() {
+        int count = ParallelExecution.CHUNK_SIZE * 5 + 17;
+        int[] expected = new int[count];
+        for (int ix = 0; ix < count; ix++) {
+            expected[ix] = ix;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            int[] result = new int[count];
+            ParallelExecution.execute(executor, count, (from, to) -> {
+                for (int ix = from; ix < to; ix++) {
+                    result[ix] += ix;
+                }
+            });
+            assertThat(result).containsExactly(expected);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testExecuteInline() {
+        int[] calls = new int[1];
+        ParallelExecution.execute(Runnable::run, 0, (from, to) -> calls[0]++);
+        ParallelExecution.execute(Runnable::run, -1, (from, to) -> calls[0]++);
+        ParallelExecution.execute(Runnable::run, ParallelExecution.CHUNK_SIZE, (from, to) -> {
+            assertThat(from).isEqualTo(0);
+            assertThat(to).isEqualTo(ParallelExecution.CHUNK_SIZE);
+            calls[0]++;
+        });
+        ParallelExecution.execute(Runnable::run, ParallelExecution.CHUNK_SIZE * 2 + 1, (from, to) -> calls[0]++);
+        assertThat(calls[0]).isEqualTo(4);
+    }
+
+    @Test
+    public void testException() {
+        int count = ParallelExecution.CHUNK_SIZE * 3;
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            assertThatIllegalStateException().isThrownBy(() ->
+                ParallelExecution.execute(executor, count, (from, to) -> {
+                    if (from == 0) {
+                        throw new IllegalStateException("failed");
+                    }
+                })
+            );
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testExceptionInCaller() {
+        int count = ParallelExecution.CHUNK_SIZE * 3;
+        AtomicInteger running = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            assertThatIllegalStateException().isThrownBy(() ->
+                ParallelExecution.execute(executor, count, (from, to) -> {
+                    if (to == count) {
+                        throw new IllegalStateException("failed");
+                    }
+                    running.incrementAndGet();
+                    try {
+                        Thread.sleep(100L);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                })
+            );
+            // No chunk must be running after the method has returned
+            assertThat(running.get()).isEqualTo(0);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
@@ -16,7 +16,7 @@ package org.shredzone.commons.suncalc.util;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.fail;
 
-import java.util.function.Function;
+import java.util.function.DoubleUnaryOperator;
 
 import org.assertj.core.data.Offset;
 import org.junit.Test;
@@ -32,7 +32,7 @@ public class PegasusTest {
     public void testParabola() {
         // f(x) = x^2 + 2x - 3
         // Roots at x = -3 and x = 1
-        Function<Double, Double> parabola = x -> x * x + 2 * x - 3;
+        DoubleUnaryOperator parabola = x -> x * x + 2 * x - 3;
 
         double r1 = Pegasus.calculate(0.0, 3.0, 0.1, parabola);
         assertThat(r1).isCloseTo(1.0, ERROR);